@@ -27,13 +27,53 @@ java {
         test {
             java.setSrcDirs(listOf("src/test"))
         }
+        create("jmh") {
+            java.setSrcDirs(listOf("src/jmh"))
+            compileClasspath += sourceSets["main"].output
+            runtimeClasspath += sourceSets["main"].output
+        }
     }
 }
 
+configurations["jmhImplementation"].extendsFrom(configurations["implementation"])
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.29")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.29")
+}
+
+tasks.withType<JavaCompile> {
+    // test data of UnicodeTrieImplTest and SubstringIndexTest is not ASCII
+    options.encoding = "UTF-8"
+}
+
 tasks.compileJava {
     options.release.set(11)
 }
 
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.release.set(11)
+}
+
 tasks.test {
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH benchmarks with the GC profiler, JMH options can be passed with -PjmhArgs=\"...\", " +
+            "e.g. -PjmhArgs=\"LookupBenchmark -p implementation=TrieImpl -p keys=1000000\""
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val jmhArgs = (project.findProperty("jmhArgs") as String? ?: "").split(" ").filter { it.isNotEmpty() }
+    // allocation rate is reported unless other profilers are chosen
+    args(if (jmhArgs.contains("-prof")) jmhArgs else jmhArgs + listOf("-prof", "gc"))
+}
+
+tasks.register<JavaExec>("jmhFootprint") {
+    description = "Prints heap retained by trie implementations, they are passed with -PfootprintArgs=\"...\""
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("ru.hse.java.trie.MemoryFootprint")
+    args((project.findProperty("footprintArgs") as String? ?: "TrieImpl").split(" ").filter { it.isNotEmpty() })
+}
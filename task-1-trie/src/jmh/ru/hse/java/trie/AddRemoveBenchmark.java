@@ -0,0 +1,94 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk load of a trie and removal of all its keys.
+ * The TwoPass variants check contains() before each change, the way add and remove walked the string twice
+ * before they became single-pass, as the baseline for them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AddRemoveBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int keys;
+
+    private String[] data;
+    private List<String> sortedData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = Keys.random(keys, 6, 12, 38371);
+        sortedData = Arrays.asList(data.clone());
+        Collections.sort(sortedData);
+    }
+
+    @Benchmark
+    public Trie add() {
+        Trie trie = new TrieImpl();
+        for (String key : data) {
+            trie.add(key);
+        }
+        return trie;
+    }
+
+    @Benchmark
+    public Trie addTwoPass() {
+        Trie trie = new TrieImpl();
+        for (String key : data) {
+            if (!trie.contains(key)) {
+                trie.add(key);
+            }
+        }
+        return trie;
+    }
+
+    @Benchmark
+    public Trie fromSorted() {
+        return TrieImpl.fromSorted(sortedData.iterator());
+    }
+
+    @Benchmark
+    public Trie fromSortedParallel() {
+        return TrieImpl.fromSorted(sortedData, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Trie addRemove() {
+        Trie trie = new TrieImpl();
+        for (String key : data) {
+            trie.add(key);
+        }
+        for (String key : data) {
+            trie.remove(key);
+        }
+        return trie;
+    }
+
+    @Benchmark
+    public Trie addRemoveTwoPass() {
+        Trie trie = new TrieImpl();
+        for (String key : data) {
+            if (!trie.contains(key)) {
+                trie.add(key);
+            }
+        }
+        for (String key : data) {
+            if (trie.contains(key)) {
+                trie.remove(key);
+            }
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of keys which are slices of a request buffer: by a String copied out of the buffer
+ * and in place by the char[] overloads. gc.alloc.rate.norm of the jmh task shows the bytes allocated per lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CharSequenceBenchmark {
+    private static final int KEYS = 1_000_000;
+    private static final int QUERIES = 1 << 12;
+
+    private Trie trie;
+    private char[] buffer;
+    private int[] offsets;
+    private int[] lengths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] data = Keys.random(KEYS, 6, 12, 38371);
+        trie = TrieFactory.create("TrieImpl", data);
+        StringBuilder request = new StringBuilder();
+        offsets = new int[QUERIES];
+        lengths = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String key = data[(int) ((long) i * KEYS / QUERIES)];
+            request.append("&key=");
+            offsets[i] = request.length();
+            lengths[i] = key.length();
+            request.append(key);
+        }
+        buffer = request.toString().toCharArray();
+    }
+
+    @Benchmark
+    public boolean containsCopy() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.contains(new String(buffer, offsets[next], lengths[next]));
+    }
+
+    @Benchmark
+    public boolean containsInPlace() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.contains(buffer, offsets[next], lengths[next]);
+    }
+
+    @Benchmark
+    public int howManyStartsWithPrefixInPlace() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.howManyStartsWithPrefix(buffer, offsets[next], 3);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-mostly load: 90% of operations are lookups, 10% are add/remove.
+ * "synchronized" is TrieImpl behind one lock, the usual way to share it between threads.
+ * The same load runs on 1, 2, 4 threads and on all available cores to show how throughput scales,
+ * e.g. -PjmhArgs="ConcurrentTrieBenchmark.readMostly" runs all four
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentTrieBenchmark {
+    private static final int KEYS = 1 << 20;
+
+    @Param({"concurrent", "synchronized"})
+    private String implementation;
+
+    private Trie trie;
+    private String[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = Keys.random(KEYS, 6, 12, 38371);
+        Trie impl = implementation.equals("concurrent") ? new ConcurrentTrieImpl() : new TrieImpl();
+        trie = implementation.equals("concurrent") ? impl : new SynchronizedTrie(impl);
+        for (int i = 0; i < KEYS; i += 2) {
+            trie.add(data[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object readMostly1Thread() {
+        return readMostly();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object readMostly2Threads() {
+        return readMostly();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object readMostly4Threads() {
+        return readMostly();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object readMostlyMaxThreads() {
+        return readMostly();
+    }
+
+    private Object readMostly() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        String key = data[rand.nextInt(KEYS)];
+        int operation = rand.nextInt(20);
+        if (operation == 0) {
+            return trie.add(key);
+        } else if (operation == 1) {
+            return trie.remove(key);
+        } else if (operation < 11) {
+            return trie.contains(key);
+        } else {
+            return trie.howManyStartsWithPrefix(key.substring(0, 3));
+        }
+    }
+
+    private static class SynchronizedTrie implements Trie {
+        private final Trie trie;
+
+        private SynchronizedTrie(Trie trie) {
+            this.trie = trie;
+        }
+
+        @Override
+        public synchronized boolean add(String element) {
+            return trie.add(element);
+        }
+
+        @Override
+        public synchronized boolean contains(String element) {
+            return trie.contains(element);
+        }
+
+        @Override
+        public synchronized boolean remove(String element) {
+            return trie.remove(element);
+        }
+
+        @Override
+        public synchronized int size() {
+            return trie.size();
+        }
+
+        @Override
+        public synchronized int howManyStartsWithPrefix(String prefix) {
+            return trie.howManyStartsWithPrefix(prefix);
+        }
+
+        @Override
+        public synchronized String nextString(String element, int k) {
+            return trie.nextString(element, k);
+        }
+
+        @Override
+        public synchronized Iterator<String> prefixIterator(String prefix, String startAfter, int limit) {
+            return trie.prefixIterator(prefix, startAfter, limit);
+        }
+    }
+}
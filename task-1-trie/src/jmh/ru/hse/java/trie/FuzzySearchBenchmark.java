@@ -0,0 +1,89 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spelling correction: the trie prunes subtrees by the edit distance of their common prefix,
+ * while the brute force computes the distance to every word of the dictionary
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class FuzzySearchBenchmark {
+    private static final int QUERIES = 1 << 8;
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    private int words;
+
+    @Param({"1", "2"})
+    private int maxDistance;
+
+    private TrieImpl trie;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dictionary = Keys.words(words, 38371);
+        trie = new TrieImpl();
+        for (String word : dictionary) {
+            trie.add(word);
+        }
+        // misspelled words: one letter of a dictionary word is replaced
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            StringBuilder query = new StringBuilder(dictionary[(int) ((long) i * words / QUERIES)]);
+            query.setCharAt(query.length() / 2, 'x');
+            queries[i] = query.toString();
+        }
+    }
+
+    @Benchmark
+    public List<String> trieSearch() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.fuzzySearch(queries[next], maxDistance, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> bruteForce() {
+        next = (next + 1) & (QUERIES - 1);
+        String query = queries[next];
+        List<String> result = new ArrayList<>();
+        Iterator<String> all = trie.prefixIterator("");
+        while (all.hasNext() && result.size() < LIMIT) {
+            String word = all.next();
+            if (distance(word, query) <= maxDistance) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    private static int distance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] row = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            row[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int replace = previousRow[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                row[j] = Math.min(replace, Math.min(row[j - 1], previousRow[j]) + 1);
+            }
+            int[] swap = previousRow;
+            previousRow = row;
+            row = swap;
+        }
+        return previousRow[second.length()];
+    }
+}
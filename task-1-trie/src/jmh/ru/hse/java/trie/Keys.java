@@ -0,0 +1,106 @@
+package ru.hse.java.trie;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Key sets for the benchmarks
+ */
+final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * Keys of a named data set: "random" strings of 6 to 12 letters or English "words"
+     */
+    static String[] dataset(String name, int count, long seed) {
+        switch (name) {
+            case "random":
+                return random(count, 6, 12, seed);
+            case "words":
+                return words(count, seed);
+            default:
+                throw new IllegalArgumentException("Unknown data set: " + name);
+        }
+    }
+
+    /**
+     * Distinct-ish random strings of Latin letters with lengths from minLength to maxLength
+     */
+    static String[] random(int count, int minLength, int maxLength, long seed) {
+        Random rand = new Random(seed);
+        String[] keys = new String[count];
+        char[] buffer = new char[maxLength];
+        for (int i = 0; i < count; i++) {
+            int length = minLength + rand.nextInt(maxLength - minLength + 1);
+            for (int j = 0; j < length; j++) {
+                buffer[j] = Alphabet.charOf(rand.nextInt(Alphabet.SIZE));
+            }
+            keys[i] = new String(buffer, 0, length);
+        }
+        return keys;
+    }
+
+    private static final String[] SYLLABLES = {
+            "a", "ab", "ac", "al", "an", "ar", "as", "at", "be", "ca", "co", "com", "con", "de", "di", "dis",
+            "e", "en", "er", "ex", "for", "ga", "ge", "ha", "he", "i", "in", "ing", "is", "la", "le", "li", "lo",
+            "ma", "me", "mi", "mo", "na", "ne", "no", "o", "or", "pa", "pe", "per", "po", "pre", "pro", "ra",
+            "re", "ri", "ro", "sa", "se", "si", "so", "sta", "ta", "te", "ter", "ti", "to", "tra", "u", "un",
+            "ur", "va", "ve", "vi"
+    };
+    private static final String[] SUFFIXES = {
+            "", "", "", "s", "ed", "ing", "er", "ers", "ly", "tion", "tions", "ness", "ment", "able", "ity"
+    };
+
+    /**
+     * English words: the word list from the trie.words system property (default /usr/share/dict/words)
+     * if there is one, otherwise words made of common English syllables and suffixes.
+     * Words with chars other than Latin letters are skipped
+     */
+    static String[] words(int count, long seed) {
+        Path wordList = Paths.get(System.getProperty("trie.words", "/usr/share/dict/words"));
+        Set<String> result = new LinkedHashSet<>();
+        if (Files.isReadable(wordList)) {
+            try (Stream<String> lines = Files.lines(wordList)) {
+                lines.filter(Keys::isWord).limit(count).forEach(result::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        Random rand = new Random(seed);
+        while (result.size() < count) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 1 + rand.nextInt(4);
+            for (int i = 0; i < syllables; i++) {
+                word.append(SYLLABLES[rand.nextInt(SYLLABLES.length)]);
+            }
+            word.append(SUFFIXES[rand.nextInt(SUFFIXES.length)]);
+            if (rand.nextInt(8) == 0) {
+                word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+            }
+            // long words are made unique by the number in letters, as the syllables run out
+            for (int number = result.size(); number > 0 && rand.nextInt(4) == 0; number /= Alphabet.SIZE) {
+                word.append(Alphabet.charOf(number % Alphabet.SIZE));
+            }
+            result.add(word.toString());
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static boolean isWord(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (Alphabet.indexOf(line.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
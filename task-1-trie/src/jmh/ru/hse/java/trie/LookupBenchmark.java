@@ -0,0 +1,78 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read operations of every implementation, half of the queries are keys of the trie and half are not.
+ * Run it with -prof gc (the default of the jmh task) to see the allocation rate per operation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LookupBenchmark {
+    private static final int QUERIES = 1 << 12;
+
+    @Param({"TrieImpl", "ArrayTrieImpl", "ConcurrentTrieImpl", "RadixTrieImpl", "WeightedTrieImpl",
+            "MappedTrie", "PersistentTrie"})
+    private String implementation;
+
+    @Param({"random", "words"})
+    private String dataset;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int keys;
+
+    private Trie trie;
+    private String[] queries;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] data = Keys.dataset(dataset, keys, 38371);
+        trie = TrieFactory.create(implementation, data);
+        Random rand = new Random(17);
+        queries = new String[QUERIES];
+        prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = i % 2 == 0 ? data[rand.nextInt(keys)] : miss(data, rand);
+            prefixes[i] = queries[i].substring(0, Math.min(queries[i].length(), 1 + rand.nextInt(4)));
+        }
+    }
+
+    /**
+     * A key of the trie with one more letter which is not in the trie itself, so a lookup walks the whole key.
+     * Another data set with a different seed would not do: the word list ignores the seed
+     */
+    private String miss(String[] data, Random rand) {
+        String miss;
+        do {
+            miss = data[rand.nextInt(keys)] + Alphabet.charOf(rand.nextInt(Alphabet.SIZE));
+        } while (trie.contains(miss));
+        return miss;
+    }
+
+    @Benchmark
+    public boolean contains() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.contains(queries[next]);
+    }
+
+    @Benchmark
+    public int howManyStartsWithPrefix() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.howManyStartsWithPrefix(prefixes[next]);
+    }
+
+    @Benchmark
+    public String nextString() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.nextString(queries[next], 1 + (next & 15));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.hse.java.trie;
+
+/**
+ * Prints heap retained by each trie implementation holding the same English words.
+ * The word strings stay alive during the measurement and are not counted, so an implementation
+ * referencing them instead of copying its chars would look smaller than it is.
+ * Run with: gradle jmhFootprint -PfootprintArgs="TrieImpl RadixTrieImpl"
+ */
+public final class MemoryFootprint {
+    private static final int WORDS = 200_000;
+
+    private MemoryFootprint() {
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        String[] words = Keys.words(WORDS, 38371);
+        long wordsLength = 0;
+        for (String word : words) {
+            wordsLength += word.length();
+        }
+        System.out.printf("%d words, %d chars%n", words.length, wordsLength);
+        for (String implementation : args) {
+            long before = usedHeap();
+            Trie trie = TrieFactory.create(implementation, words);
+            long retained = usedHeap() - before;
+            System.out.printf("%-20s %,12d bytes, %6.1f bytes per word%n",
+                    implementation, retained, (double) retained / trie.size());
+            if (trie instanceof TrieImpl) {
+                TrieStats stats = ((TrieImpl) trie).stats();
+                System.out.printf("%-20s %,12d bytes estimated by stats, %d vertices, %d dense%n",
+                        "", stats.estimatedBytes(), stats.vertexCount(), stats.denseCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of nextString should depend on the trie depth only, not on the number of keys
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class NextStringBenchmark {
+    private static final int QUERIES = 1 << 12;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int keys;
+
+    private Trie trie;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trie = new TrieImpl();
+        for (String key : Keys.random(keys, 6, 12, 38371)) {
+            trie.add(key);
+        }
+        queries = Keys.random(QUERIES, 6, 12, 9);
+    }
+
+    @Benchmark
+    public String nextString() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.nextString(queries[next], 1 + (next & 15));
+    }
+
+    @Benchmark
+    public void twentyCompletionsByIterator(Blackhole blackhole) {
+        next = (next + 1) & (QUERIES - 1);
+        Iterator<String> completions = trie.prefixIterator(queries[next].substring(0, 2), queries[next], 20);
+        while (completions.hasNext()) {
+            blackhole.consume(completions.next());
+        }
+    }
+
+    @Benchmark
+    public void twentyCompletionsByNextString(Blackhole blackhole) {
+        next = (next + 1) & (QUERIES - 1);
+        String prefix = queries[next].substring(0, 2);
+        String current = queries[next];
+        for (int i = 0; i < 20; i++) {
+            current = trie.nextString(current, 1);
+            if (current == null || !current.startsWith(prefix)) {
+                break;
+            }
+            blackhole.consume(current);
+        }
+    }
+
+    @Benchmark
+    public void twentyCompletionsByCursor(Blackhole blackhole) {
+        next = (next + 1) & (QUERIES - 1);
+        TrieCursor cursor = trie.cursor(queries[next]);
+        for (int i = 0; i < 20 && cursor.current() != null; i++) {
+            blackhole.consume(cursor.current());
+            cursor.advance();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strings containing a substring: binary search in the suffix array of SubstringIndex
+ * against checking every string of the trie
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SubstringBenchmark {
+    private static final int QUERIES = 1 << 8;
+
+    @Param({"100000", "1000000"})
+    private int words;
+
+    @Param({"3", "5"})
+    private int patternLength;
+
+    private TrieImpl trie;
+    private SubstringIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dictionary = Keys.words(words, 38371);
+        trie = new TrieImpl();
+        for (String word : dictionary) {
+            trie.add(word);
+        }
+        index = new SubstringIndex(trie);
+        // substrings from the middle of dictionary words
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = dictionary[(int) ((long) i * words / QUERIES)];
+            while (word.length() < patternLength) {
+                word += word;
+            }
+            int from = (word.length() - patternLength) / 2;
+            queries[i] = word.substring(from, from + patternLength);
+        }
+    }
+
+    @Benchmark
+    public int indexCount() {
+        next = (next + 1) & (QUERIES - 1);
+        return index.howManyContain(queries[next]);
+    }
+
+    @Benchmark
+    public List<String> indexEnumerate() {
+        next = (next + 1) & (QUERIES - 1);
+        return index.keysContaining(queries[next]);
+    }
+
+    @Benchmark
+    public List<String> fullScan() {
+        next = (next + 1) & (QUERIES - 1);
+        String query = queries[next];
+        List<String> result = new ArrayList<>();
+        Iterator<String> all = trie.prefixIterator("");
+        while (all.hasNext()) {
+            String word = all.next();
+            if (word.contains(query)) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+}
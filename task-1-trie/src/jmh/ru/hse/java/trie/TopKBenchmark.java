@@ -0,0 +1,71 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletion by the ten best scored words of a short prefix:
+ * topK follows the cached maximal scores, the scan reads the whole subtree of the prefix
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TopKBenchmark {
+    private static final int QUERIES = 1 << 10;
+    private static final int K = 10;
+
+    @Param({"100000", "1000000"})
+    private int words;
+
+    private WeightedTrieImpl trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dictionary = Keys.words(words, 38371);
+        Random rand = new Random(9);
+        trie = new WeightedTrieImpl();
+        for (String word : dictionary) {
+            // word frequencies follow a power law
+            trie.add(word, (long) (1_000_000 / (1 + rand.nextInt(words))));
+        }
+        prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = dictionary[rand.nextInt(words)];
+            prefixes[i] = word.substring(0, Math.min(2, word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<String> topK() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.topK(prefixes[next], K);
+    }
+
+    /**
+     * Only finds the k-th best score, so it is a lower bound of a scan returning the strings
+     */
+    @Benchmark
+    public long scan() {
+        next = (next + 1) & (QUERIES - 1);
+        PriorityQueue<Long> best = new PriorityQueue<>();
+        Iterator<String> completions = trie.prefixIterator(prefixes[next]);
+        while (completions.hasNext()) {
+            String word = completions.next();
+            best.add(trie.getScore(word));
+            if (best.size() > K) {
+                best.poll();
+            }
+        }
+        return best.isEmpty() ? 0 : best.peek();
+    }
+}
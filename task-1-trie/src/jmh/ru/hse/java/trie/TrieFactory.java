@@ -0,0 +1,67 @@
+package ru.hse.java.trie;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Trie implementations by their class names, for @Param of the benchmarks
+ */
+final class TrieFactory {
+
+    private TrieFactory() {
+    }
+
+    /**
+     * Empty trie, the immutable MappedTrie and PersistentTrie are only created filled by create(implementation, keys)
+     */
+    static Trie create(String implementation) {
+        switch (implementation) {
+            case "TrieImpl":
+                return new TrieImpl();
+            case "ArrayTrieImpl":
+                return new ArrayTrieImpl();
+            case "ConcurrentTrieImpl":
+                return new ConcurrentTrieImpl();
+            case "RadixTrieImpl":
+                return new RadixTrieImpl();
+            case "WeightedTrieImpl":
+                return new WeightedTrieImpl();
+            default:
+                throw new IllegalArgumentException("Unknown trie implementation: " + implementation);
+        }
+    }
+
+    static Trie create(String implementation, String[] keys) {
+        if (implementation.equals("MappedTrie")) {
+            return mapped(create("TrieImpl", keys));
+        }
+        if (implementation.equals("PersistentTrie")) {
+            PersistentTrie trie = PersistentTrie.empty();
+            for (String key : keys) {
+                trie = trie.plus(key);
+            }
+            return trie;
+        }
+        Trie trie = create(implementation);
+        for (String key : keys) {
+            trie.add(key);
+        }
+        return trie;
+    }
+
+    /**
+     * MappedTrie is immutable, so it is mapped from a snapshot of a filled trie
+     */
+    private static Trie mapped(Trie trie) {
+        try {
+            Path file = Files.createTempFile("trie", ".bin");
+            file.toFile().deleteOnExit();
+            MappedTrie.write(trie, file);
+            return MappedTrie.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * add and remove of all keys of a data set in every mutable implementation, time is per whole data set
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class UpdateBenchmark {
+
+    @Param({"TrieImpl", "ArrayTrieImpl", "ConcurrentTrieImpl", "RadixTrieImpl", "WeightedTrieImpl"})
+    private String implementation;
+
+    @Param({"random", "words"})
+    private String dataset;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int keys;
+
+    private String[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = Keys.dataset(dataset, keys, 38371);
+    }
+
+    /**
+     * A filled trie for every call of remove, the call is long enough for the setup not to skew the time
+     */
+    @State(Scope.Thread)
+    public static class Filled {
+        private Trie trie;
+
+        @Setup(Level.Invocation)
+        public void fill(UpdateBenchmark benchmark) {
+            trie = TrieFactory.create(benchmark.implementation, benchmark.data);
+        }
+    }
+
+    @Benchmark
+    public Trie add() {
+        Trie trie = TrieFactory.create(implementation);
+        for (String key : data) {
+            trie.add(key);
+        }
+        return trie;
+    }
+
+    @Benchmark
+    public Trie remove(Filled filled) {
+        for (String key : data) {
+            filled.trie.remove(key);
+        }
+        return filled.trie;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.hse.java.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a dictionary of English words, where path compression pays off
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WordLookupBenchmark {
+    private static final int WORDS = 200_000;
+    private static final int QUERIES = 1 << 12;
+    private static final int BATCH = 256;
+
+    @Param({"TrieImpl", "RadixTrieImpl", "MappedTrie"})
+    private String implementation;
+
+    private Trie trie;
+    private String[] queries;
+    private String[] batch;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] words = Keys.words(WORDS, 38371);
+        trie = TrieFactory.create(implementation, words);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = words[(int) ((long) i * WORDS / QUERIES)];
+        }
+        // candidates of one request are spelling variants of a few words: prefixes and one-letter extensions
+        batch = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            String word = queries[i / 16 * 97];
+            int variant = i % 16;
+            batch[i] = variant < 8
+                    ? word.substring(0, word.length() * (variant + 1) / 8)
+                    : word + Alphabet.charOf(variant * 3);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        next = (next + 1) & (QUERIES - 1);
+        return trie.contains(queries[next]);
+    }
+
+    @Benchmark
+    public int howManyStartsWithPrefix() {
+        next = (next + 1) & (QUERIES - 1);
+        String query = queries[next];
+        return trie.howManyStartsWithPrefix(query.substring(0, Math.min(3, query.length())));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BitSet containsLoop() {
+        BitSet result = new BitSet(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            if (trie.contains(batch[i])) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BitSet containsAll() {
+        return trie.containsAll(batch);
+    }
+}
@@ -0,0 +1,377 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * nextString and prefixIterator shared by the trie implementations.
+ * They store vertices differently, so the algorithms go through a {@link Walker}: a stack of vertices
+ * from the root kept by each implementation in its own form. Both rely only on sorted children
+ * and on subtree sizes, the ones howManyStartsWithPrefix is answered with
+ */
+abstract class AbstractTrie implements Trie {
+
+    /**
+     * Handle of a child meaning that there are no more children
+     */
+    static final int NO_CHILD = -1;
+
+    /**
+     * Whether all chars of the string are letters of the {@link Alphabet}, the only ones most tries here accept
+     */
+    static boolean isCorrectString(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (!Alphabet.contains(string.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stack of vertices on a path from the root, the vertex on top is the current one.
+     * Children of the current vertex are addressed by not negative int handles, e.g. slots of the children array,
+     * so vertices kept in primitive arrays are not boxed. A handle is valid while its vertex is on top.
+     * An edge is labeled by one char unless the implementation overrides labelLength
+     */
+    abstract static class Walker {
+
+        /**
+         * Number of vertices on the stack, 1 when only the root is there
+         */
+        abstract int depth();
+
+        abstract boolean isFinal();
+
+        /**
+         * Number of strings in the subtree of the current vertex
+         */
+        abstract int size();
+
+        /**
+         * Child by the smallest label or NO_CHILD
+         */
+        abstract int firstChild();
+
+        /**
+         * Child by the next label after the given child or NO_CHILD
+         */
+        abstract int nextChild(int child);
+
+        abstract int childSize(int child);
+
+        /**
+         * i-th char of the label of the edge to the child
+         */
+        abstract char labelAt(int child, int i);
+
+        /**
+         * Makes the child the current vertex
+         */
+        abstract void push(int child);
+
+        /**
+         * Makes the parent the current vertex
+         *
+         * @return length of the label of the edge passed
+         */
+        abstract int pop();
+
+        int labelLength(int child) {
+            return 1;
+        }
+
+        void appendLabel(int child, StringBuilder builder) {
+            builder.append(labelAt(child, 0));
+        }
+
+        /**
+         * First child whose label starts with a char not less than c, NO_CHILD if there is none
+         */
+        int childFrom(char c) {
+            int child = firstChild();
+            while (child != NO_CHILD && labelAt(child, 0) < c) {
+                child = nextChild(child);
+            }
+            return child;
+        }
+
+        /**
+         * Number of chars of the label of the edge to the child matching the string from the given position
+         */
+        int match(int child, CharSequence string, int from) {
+            int length = Math.min(labelLength(child), string.length() - from);
+            int matched = 0;
+            while (matched < length && labelAt(child, matched) == string.charAt(from + matched)) {
+                matched++;
+            }
+            return matched;
+        }
+
+        void reset() {
+            while (depth() > 1) {
+                pop();
+            }
+        }
+    }
+
+    /**
+     * New walker at the root
+     */
+    @NotNull
+    abstract Walker walker();
+
+    @Override
+    @Nullable
+    public String nextString(String element, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Only not negative k!!");
+        }
+        boolean isPresent = contains(element);
+        if (k == 0) {
+            return isPresent ? element : null;
+        }
+        Walker walker = walker();
+        int less = countLess(walker, element);
+        walker.reset();
+        return kStatistic(walker, less + (isPresent ? 1 : 0) + k);
+    }
+
+    /**
+     * Number of strings in the trie which are lexicographically less than the given one,
+     * the string itself does not have to be in the trie.
+     * Expected complexity: O(|element| * alphabet size)
+     */
+    int countLess(@NotNull String element) {
+        return countLess(walker(), element);
+    }
+
+    private static int countLess(Walker walker, String element) {
+        int num = 0;
+        int i = 0;
+        while (i < element.length()) {
+            char c = element.charAt(i);
+            if (walker.isFinal()) {
+                num++;
+            }
+            int child = walker.firstChild();
+            while (child != NO_CHILD && walker.labelAt(child, 0) < c) {
+                num += walker.childSize(child);
+                child = walker.nextChild(child);
+            }
+            if (child == NO_CHILD || walker.labelAt(child, 0) != c) {
+                return num;
+            }
+            int matched = walker.match(child, element, i);
+            if (matched < walker.labelLength(child)) {
+                // strings of the child are less only if the element goes on with a greater char
+                if (i + matched < element.length() && element.charAt(i + matched) > walker.labelAt(child, matched)) {
+                    num += walker.childSize(child);
+                }
+                return num;
+            }
+            i += matched;
+            walker.push(child);
+        }
+        return num;
+    }
+
+    /**
+     * k-th (starting from 1) string of the trie in lexicographic order or null if there are less than k strings.
+     * Children are sorted, so the answer is found in one descent.
+     * Expected complexity: O(|answer| * alphabet size)
+     */
+    @Nullable
+    String kStatistic(int k) {
+        return kStatistic(walker(), k);
+    }
+
+    private static String kStatistic(Walker walker, int k) {
+        if (k < 1 || k > walker.size()) {
+            return null;
+        }
+        StringBuilder resultStrBuilder = new StringBuilder();
+        while (true) {
+            if (walker.isFinal()) {
+                if (k == 1) {
+                    return resultStrBuilder.toString();
+                }
+                k--;
+            }
+            int child = walker.firstChild();
+            int childSize;
+            while (child != NO_CHILD && (childSize = walker.childSize(child)) < k) {
+                k -= childSize;
+                child = walker.nextChild(child);
+            }
+            if (child == NO_CHILD) {
+                // sizes only disagree with the children under concurrent updates
+                return null;
+            }
+            walker.appendLabel(child, resultStrBuilder);
+            walker.push(child);
+        }
+    }
+
+    @Override
+    @NotNull
+    public Iterator<String> prefixIterator(@NotNull String prefix, @Nullable String startAfter, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Only not negative limit!!");
+        }
+        return new PrefixIterator(prefix, startAfter, limit);
+    }
+
+    /**
+     * Preorder walk over the subtree of a prefix, the string of the current vertex is kept in one StringBuilder.
+     * The walk stands at the string next() returns, skip() passes it without building a String.
+     * nextChildren[i] is the child to visit next of the i-th vertex below the base
+     */
+    class PrefixIterator implements Iterator<String> {
+        private final Walker walker = walker();
+        private int[] nextChildren = new int[16];
+        // number of vertices from the base to the current one, 0 when the walk is over
+        private int depth;
+        private final StringBuilder current = new StringBuilder();
+        private int remaining;
+        // whether the walk stands at a string, the one in current
+        private boolean hasNext;
+
+        private PrefixIterator(String prefix, String startAfter, int limit) {
+            remaining = limit;
+            if (remaining == 0 || !descend(prefix)) {
+                return;
+            }
+            // all strings with the prefix are in the subtree of base and start with its whole string
+            depth = 1;
+            nextChildren[0] = walker.firstChild();
+            String base = current.toString();
+            if (startAfter == null || startAfter.compareTo(base) < 0) {
+                hasNext = walker.isFinal() || advance();
+            } else if (startAfter.startsWith(base)) {
+                positionAfter(startAfter, base.length());
+                hasNext = advance();
+            }
+        }
+
+        /**
+         * Walks down to the vertex of the prefix or, if it ends inside an edge, to the vertex below it
+         */
+        private boolean descend(String prefix) {
+            int i = 0;
+            while (i < prefix.length()) {
+                char c = prefix.charAt(i);
+                int child = walker.childFrom(c);
+                if (child == NO_CHILD || walker.labelAt(child, 0) != c) {
+                    return false;
+                }
+                int labelLength = walker.labelLength(child);
+                int matched = walker.match(child, prefix, i);
+                if (matched < labelLength && i + matched < prefix.length()) {
+                    return false;
+                }
+                walker.appendLabel(child, current);
+                walker.push(child);
+                i += labelLength;
+            }
+            return true;
+        }
+
+        /**
+         * Walks down along startAfter from its i-th char, so that advance continues with the next string after it
+         */
+        private void positionAfter(String startAfter, int i) {
+            while (i < startAfter.length()) {
+                char c = startAfter.charAt(i);
+                int child = walker.childFrom(c);
+                nextChildren[depth - 1] = child;
+                if (child == NO_CHILD || walker.labelAt(child, 0) != c) {
+                    return;
+                }
+                int matched = walker.match(child, startAfter, i);
+                if (matched < walker.labelLength(child)) {
+                    // the child goes after startAfter unless startAfter goes on with a greater char
+                    if (i + matched < startAfter.length() && startAfter.charAt(i + matched) > walker.labelAt(child, matched)) {
+                        nextChildren[depth - 1] = walker.nextChild(child);
+                    }
+                    return;
+                }
+                nextChildren[depth - 1] = walker.nextChild(child);
+                walker.appendLabel(child, current);
+                push(child);
+                i += matched;
+            }
+        }
+
+        private void push(int child) {
+            walker.push(child);
+            if (depth == nextChildren.length) {
+                nextChildren = Arrays.copyOf(nextChildren, 2 * depth);
+            }
+            nextChildren[depth++] = walker.firstChild();
+        }
+
+        /**
+         * Walks to the next final vertex
+         *
+         * @return false if the subtree is over
+         */
+        private boolean advance() {
+            while (depth > 0) {
+                int child = nextChildren[depth - 1];
+                if (child == NO_CHILD) {
+                    depth--;
+                    if (depth > 0) {
+                        current.setLength(current.length() - walker.pop());
+                    }
+                    continue;
+                }
+                nextChildren[depth - 1] = walker.nextChild(child);
+                walker.appendLabel(child, current);
+                push(child);
+                if (walker.isFinal()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            String result = current.toString();
+            skip();
+            return result;
+        }
+
+        /**
+         * Passes the string the walk stands at, like next() without building it
+         */
+        void skip() {
+            remaining--;
+            hasNext = remaining > 0 && advance();
+        }
+
+        /**
+         * The string next() would return, valid until the walk moves
+         */
+        @NotNull
+        CharSequence peek() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.hse.java.trie;
+
+/**
+ * Latin letters in both registers, the alphabet of the tries in this package
+ */
+final class Alphabet {
+    static final int SIZE = 52;
+
+    private Alphabet() {
+    }
+
+    /**
+     * Position of a letter in the alphabet: 'A'..'Z' map to 0..25 and 'a'..'z' to 26..51,
+     * so the order of indices is the lexicographic order of letters
+     *
+     * @return index of the letter or -1 for any other char
+     */
+    static int indexOf(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the code point is a letter of the alphabet
+     */
+    static boolean contains(int codePoint) {
+        return codePoint >= 'A' && codePoint <= 'Z' || codePoint >= 'a' && codePoint <= 'z';
+    }
+
+    static char charOf(int index) {
+        return (char) (index < 26 ? 'A' + index : 'a' + index - 26);
+    }
+}
@@ -0,0 +1,357 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Trie that keeps all vertices in parallel primitive arrays instead of one object per vertex.
+ * A vertex is an index into the arrays, its children form a list sorted by label:
+ * firstChild points to the smallest child, nextSibling to the next one.
+ * A vertex with more than DENSE_THRESHOLD children also gets a row of Alphabet.SIZE child indices
+ * in denseChildren, so a lookup in it does not scan the siblings; the list is kept for the walk in order.
+ * Vertices freed by remove() are chained through nextSibling and reused by add().
+ */
+public class ArrayTrieImpl extends AbstractTrie {
+
+    private static final int NIL = NO_CHILD;
+    private static final int ROOT = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DENSE_THRESHOLD = 8;
+
+    private int[] firstChild;
+    private int[] nextSibling;
+    private char[] label;
+    private int[] size;
+    private boolean[] isFinal;
+    private int[] childCount;
+    // row of the vertex in denseChildren or NIL
+    private int[] denseRow;
+
+    private int allocated;
+    private int freeHead = NIL;
+
+    private int[] denseChildren = new int[0];
+    private int rowsAllocated;
+    // rows released by vertices which lost their children, reused first
+    private int[] freeRows = new int[0];
+    private int freeRowCount;
+
+    // vertices of the prefixes of the element of the last add or remove
+    private int[] path = new int[16];
+
+    public ArrayTrieImpl() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity number of vertices to reserve space for
+     */
+    public ArrayTrieImpl(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity should be positive");
+        }
+        firstChild = new int[initialCapacity];
+        nextSibling = new int[initialCapacity];
+        label = new char[initialCapacity];
+        size = new int[initialCapacity];
+        isFinal = new boolean[initialCapacity];
+        childCount = new int[initialCapacity];
+        denseRow = new int[initialCapacity];
+        newVertex('\0');
+    }
+
+    private int newVertex(char c) {
+        int vertex;
+        if (freeHead != NIL) {
+            vertex = freeHead;
+            freeHead = nextSibling[vertex];
+        } else {
+            if (allocated == size.length) {
+                int capacity = 2 * allocated;
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                label = Arrays.copyOf(label, capacity);
+                size = Arrays.copyOf(size, capacity);
+                isFinal = Arrays.copyOf(isFinal, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                denseRow = Arrays.copyOf(denseRow, capacity);
+            }
+            vertex = allocated++;
+        }
+        firstChild[vertex] = NIL;
+        nextSibling[vertex] = NIL;
+        label[vertex] = c;
+        size[vertex] = 0;
+        isFinal[vertex] = false;
+        childCount[vertex] = 0;
+        denseRow[vertex] = NIL;
+        return vertex;
+    }
+
+    /**
+     * Gives the vertex a row of child indices filled from its sibling list
+     */
+    private void makeDense(int vertex) {
+        int row;
+        if (freeRowCount > 0) {
+            row = freeRows[--freeRowCount];
+        } else {
+            if ((rowsAllocated + 1) * Alphabet.SIZE > denseChildren.length) {
+                denseChildren = Arrays.copyOf(denseChildren, Math.max(4, 2 * rowsAllocated) * Alphabet.SIZE);
+            }
+            row = rowsAllocated++;
+        }
+        Arrays.fill(denseChildren, row * Alphabet.SIZE, (row + 1) * Alphabet.SIZE, NIL);
+        for (int child = firstChild[vertex]; child != NIL; child = nextSibling[child]) {
+            denseChildren[row * Alphabet.SIZE + Alphabet.indexOf(label[child])] = child;
+        }
+        denseRow[vertex] = row;
+    }
+
+    private void releaseRow(int vertex) {
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, Math.max(4, 2 * freeRowCount));
+        }
+        freeRows[freeRowCount++] = denseRow[vertex];
+        denseRow[vertex] = NIL;
+    }
+
+    /**
+     * Returns the vertex and its descendants to the free list.
+     * Only subtrees holding a single string are freed, so they have no branches
+     */
+    private void freePath(int vertex) {
+        while (vertex != NIL) {
+            int child = firstChild[vertex];
+            if (denseRow[vertex] != NIL) {
+                releaseRow(vertex);
+            }
+            nextSibling[vertex] = freeHead;
+            freeHead = vertex;
+            vertex = child;
+        }
+    }
+
+    private int move(int vertex, char c) {
+        if (denseRow[vertex] != NIL) {
+            int index = Alphabet.indexOf(c);
+            return index < 0 ? NIL : denseChildren[denseRow[vertex] * Alphabet.SIZE + index];
+        }
+        int child = firstChild[vertex];
+        while (child != NIL && label[child] < c) {
+            child = nextSibling[child];
+        }
+        return child != NIL && label[child] == c ? child : NIL;
+    }
+
+    /**
+     * Adds a child by a char which the vertex has no child by yet
+     */
+    private int addChild(int vertex, char c) {
+        int prev = NIL;
+        int child = firstChild[vertex];
+        while (child != NIL && label[child] < c) {
+            prev = child;
+            child = nextSibling[child];
+        }
+        int created = newVertex(c);
+        nextSibling[created] = child;
+        if (prev == NIL) {
+            firstChild[vertex] = created;
+        } else {
+            nextSibling[prev] = created;
+        }
+        childCount[vertex]++;
+        if (denseRow[vertex] != NIL) {
+            denseChildren[denseRow[vertex] * Alphabet.SIZE + Alphabet.indexOf(c)] = created;
+        } else if (childCount[vertex] > DENSE_THRESHOLD) {
+            makeDense(vertex);
+        }
+        return created;
+    }
+
+    private void unlinkChild(int vertex, int child) {
+        childCount[vertex]--;
+        if (denseRow[vertex] != NIL) {
+            denseChildren[denseRow[vertex] * Alphabet.SIZE + Alphabet.indexOf(label[child])] = NIL;
+            if (childCount[vertex] <= DENSE_THRESHOLD / 2) {
+                releaseRow(vertex);
+            }
+        }
+        if (firstChild[vertex] == child) {
+            firstChild[vertex] = nextSibling[child];
+        } else {
+            int prev = firstChild[vertex];
+            while (nextSibling[prev] != child) {
+                prev = nextSibling[prev];
+            }
+            nextSibling[prev] = nextSibling[child];
+        }
+        freePath(child);
+    }
+
+    /**
+     * Vertex of the given string or NIL if there is no such path in the trie
+     */
+    private int find(String string) {
+        int vertex = ROOT;
+        for (int i = 0; i < string.length() && vertex != NIL; i++) {
+            vertex = move(vertex, string.charAt(i));
+        }
+        return vertex;
+    }
+
+    /**
+     * Descends from the root along the element while the trie has the vertices, filling path
+     *
+     * @return number of chars passed
+     */
+    private int descend(String element) {
+        if (path.length <= element.length()) {
+            path = new int[Math.max(2 * path.length, element.length() + 1)];
+        }
+        int vertex = ROOT;
+        path[0] = vertex;
+        int depth = 0;
+        while (depth < element.length()) {
+            vertex = move(vertex, element.charAt(depth));
+            if (vertex == NIL) {
+                break;
+            }
+            path[++depth] = vertex;
+        }
+        return depth;
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        if (!isCorrectString(element)) {
+            return false;
+        }
+        int depth = descend(element);
+        if (depth == element.length() && isFinal[path[depth]]) {
+            return false;
+        }
+        for (int i = 0; i <= depth; i++) {
+            size[path[i]]++;
+        }
+        int vertex = path[depth];
+        for (int i = depth; i < element.length(); i++) {
+            // the rest of the string has no vertices yet
+            vertex = addChild(vertex, element.charAt(i));
+            size[vertex] = 1;
+        }
+        isFinal[vertex] = true;
+        return true;
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        int vertex = find(element);
+        return vertex != NIL && isFinal[vertex];
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        int depth = descend(element);
+        if (depth < element.length() || !isFinal[path[depth]]) {
+            return false;
+        }
+        for (int i = 0; i < depth; i++) {
+            size[path[i]]--;
+            if (size[path[i + 1]] == 1) {
+                unlinkChild(path[i], path[i + 1]);
+                return true;
+            }
+        }
+        size[path[depth]]--;
+        isFinal[path[depth]] = false;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size[ROOT];
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        int vertex = find(prefix);
+        return vertex == NIL ? 0 : size[vertex];
+    }
+
+    @Override
+    @NotNull
+    Walker walker() {
+        return new ArrayWalker();
+    }
+
+    /**
+     * Children are addressed by their vertex indices
+     */
+    private class ArrayWalker extends Walker {
+        private int[] vertices = new int[16];
+        private int depth = 1;
+
+        private ArrayWalker() {
+            vertices[0] = ROOT;
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return isFinal[vertices[depth - 1]];
+        }
+
+        @Override
+        int size() {
+            return size[vertices[depth - 1]];
+        }
+
+        @Override
+        int firstChild() {
+            return firstChild[vertices[depth - 1]];
+        }
+
+        @Override
+        int nextChild(int child) {
+            return nextSibling[child];
+        }
+
+        @Override
+        int childSize(int child) {
+            return size[child];
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return label[child];
+        }
+
+        @Override
+        void push(int child) {
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = child;
+        }
+
+        @Override
+        int pop() {
+            depth--;
+            return 1;
+        }
+    }
+
+    /**
+     * Number of array slots holding vertices, both used and free
+     */
+    int allocatedVertices() {
+        return allocated;
+    }
+}
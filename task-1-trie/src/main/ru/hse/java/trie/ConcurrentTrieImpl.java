@@ -0,0 +1,235 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe trie.
+ * Lookups take no locks: children are published through atomic arrays, sizes and final flags are volatile.
+ * Writers are serialized per first letter of the string, each letter owns one subtree of the root,
+ * so only writers of strings with the same first letter contend.
+ * nextString and prefix iterators read the trie without locks and are weakly consistent:
+ * they never fail on concurrent updates and may or may not see them
+ */
+public class ConcurrentTrieImpl extends AbstractTrie {
+
+    private static final AtomicIntegerFieldUpdater<Vertex> SIZE =
+            AtomicIntegerFieldUpdater.newUpdater(Vertex.class, "size");
+
+    private static class Vertex {
+        private volatile int size;
+        private volatile boolean isFinal;
+        private volatile AtomicReferenceArray<Vertex> children;
+
+        private Vertex move(char elem) {
+            AtomicReferenceArray<Vertex> currChildren = children;
+            int index = Alphabet.indexOf(elem);
+            return currChildren == null || index < 0 ? null : currChildren.get(index);
+        }
+
+        /**
+         * Must be called under the lock of the subtree
+         */
+        private Vertex getOrCreate(char elem) {
+            if (children == null) {
+                children = new AtomicReferenceArray<>(Alphabet.SIZE);
+            }
+            int index = Alphabet.indexOf(elem);
+            Vertex child = children.get(index);
+            if (child == null) {
+                child = new Vertex();
+                children.set(index, child);
+            }
+            return child;
+        }
+    }
+
+    // stands for a vertex removed while a reader walks to it
+    private static final Vertex EMPTY = new Vertex();
+
+    private final Vertex root = new Vertex();
+
+    /*
+     * locks[Alphabet.indexOf(c)] guards the subtree of strings starting with c,
+     * the last lock guards the empty string
+     */
+    private final ReentrantLock[] locks = new ReentrantLock[Alphabet.SIZE + 1];
+
+    public ConcurrentTrieImpl() {
+        // children of the root are shared by all the locks, so they are never created lazily
+        root.children = new AtomicReferenceArray<>(Alphabet.SIZE);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private ReentrantLock lockOf(String element) {
+        return element.isEmpty() ? locks[Alphabet.SIZE] : locks[Alphabet.indexOf(element.charAt(0))];
+    }
+
+    private Vertex find(String string) {
+        Vertex currVertex = root;
+        for (int i = 0; i < string.length() && currVertex != null; i++) {
+            currVertex = currVertex.move(string.charAt(i));
+        }
+        return currVertex;
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        if (!isCorrectString(element)) {
+            return false;
+        }
+        ReentrantLock lock = lockOf(element);
+        lock.lock();
+        try {
+            Vertex[] path = new Vertex[element.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < element.length(); i++) {
+                path[i + 1] = path[i].getOrCreate(element.charAt(i));
+            }
+            Vertex last = path[element.length()];
+            if (last.isFinal) {
+                return false;
+            }
+            for (Vertex vertex : path) {
+                SIZE.incrementAndGet(vertex);
+            }
+            last.isFinal = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        Vertex vertex = find(element);
+        return vertex != null && vertex.isFinal;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        if (!isCorrectString(element)) {
+            return false;
+        }
+        ReentrantLock lock = lockOf(element);
+        lock.lock();
+        try {
+            Vertex last = find(element);
+            if (last == null || !last.isFinal) {
+                return false;
+            }
+            last.isFinal = false;
+            Vertex currVertex = root;
+            SIZE.decrementAndGet(currVertex);
+            for (int i = 0; i < element.length(); i++) {
+                Vertex child = currVertex.move(element.charAt(i));
+                if (SIZE.decrementAndGet(child) == 0) {
+                    currVertex.children.set(Alphabet.indexOf(element.charAt(i)), null);
+                    break;
+                }
+                currVertex = child;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        Vertex vertex = find(prefix);
+        return vertex == null ? 0 : vertex.size;
+    }
+
+    @Override
+    @NotNull
+    Walker walker() {
+        return new ConcurrentWalker();
+    }
+
+    /**
+     * Children are addressed by alphabet indices. Each vertex is read once when it is pushed,
+     * a child removed after it was found is replaced by an empty vertex, so the walk never fails
+     */
+    private class ConcurrentWalker extends Walker {
+        private Vertex[] vertices = new Vertex[16];
+        private int depth = 1;
+
+        private ConcurrentWalker() {
+            vertices[0] = root;
+        }
+
+        private Vertex child(int index) {
+            AtomicReferenceArray<Vertex> children = vertices[depth - 1].children;
+            return children == null ? null : children.get(index);
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return vertices[depth - 1].isFinal;
+        }
+
+        @Override
+        int size() {
+            return vertices[depth - 1].size;
+        }
+
+        @Override
+        int firstChild() {
+            return nextChild(-1);
+        }
+
+        @Override
+        int nextChild(int child) {
+            AtomicReferenceArray<Vertex> children = vertices[depth - 1].children;
+            for (int index = child + 1; children != null && index < Alphabet.SIZE; index++) {
+                if (children.get(index) != null) {
+                    return index;
+                }
+            }
+            return NO_CHILD;
+        }
+
+        @Override
+        int childSize(int child) {
+            Vertex vertex = child(child);
+            return vertex == null ? 0 : vertex.size;
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return Alphabet.charOf(child);
+        }
+
+        @Override
+        void push(int child) {
+            Vertex vertex = child(child);
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = vertex == null ? EMPTY : vertex;
+        }
+
+        @Override
+        int pop() {
+            vertices[--depth] = null;
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decorator counting add, contains and remove calls of another trie and their latencies.
+ * Counters are thread safe, so wrapping a thread safe trie keeps it thread safe.
+ * Timing costs two System.nanoTime() calls per operation, so only wrap tries while measuring them.
+ * Batch lookups and iteration are passed to the trie as is and are not counted
+ */
+public class InstrumentedTrie implements Trie {
+
+    public enum Operation {
+        ADD, CONTAINS, REMOVE
+    }
+
+    /**
+     * Latencies in nanoseconds by power of two buckets: bucket i holds latencies in [2^(i-1), 2^i),
+     * bucket 0 holds latencies of 0
+     */
+    public static class LatencyHistogram {
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private LatencyHistogram() {
+        }
+
+        private void record(long nanos) {
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        /**
+         * Number of recorded latencies
+         */
+        public long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * Element i is the number of latencies in [2^(i-1), 2^i) nanoseconds
+         */
+        @NotNull
+        public long[] buckets() {
+            long[] result = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                result[i] = buckets.get(i);
+            }
+            return result;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given fraction of latencies, 0 if nothing is recorded.
+         * The bound is at most twice as large as the real percentile
+         *
+         * @param fraction from 0 to 1, e.g. 0.99 for the 99th percentile
+         */
+        public long percentileNanos(double fraction) {
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("Only fraction from 0 to 1!!");
+            }
+            long[] counts = buckets();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            long rank = (long) Math.ceil(fraction * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (counts[i] > 0 && seen >= rank) {
+                    return i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private final Trie trie;
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+
+    public InstrumentedTrie(@NotNull Trie trie) {
+        this.trie = trie;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * The wrapped trie, operations called on it directly are not counted
+     */
+    @NotNull
+    public Trie unwrap() {
+        return trie;
+    }
+
+    /**
+     * Number of calls of the operation since creation or the last reset()
+     */
+    public long count(@NotNull Operation operation) {
+        return histograms.get(operation).count();
+    }
+
+    @NotNull
+    public LatencyHistogram histogram(@NotNull Operation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Forgets all counted calls, calls running at the same time may be counted or not
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private void record(Operation operation, long start) {
+        histograms.get(operation).record(System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        long start = System.nanoTime();
+        boolean result = trie.add(element);
+        record(Operation.ADD, start);
+        return result;
+    }
+
+    @Override
+    public boolean add(@NotNull CharSequence element) {
+        long start = System.nanoTime();
+        boolean result = trie.add(element);
+        record(Operation.ADD, start);
+        return result;
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        long start = System.nanoTime();
+        boolean result = trie.contains(element);
+        record(Operation.CONTAINS, start);
+        return result;
+    }
+
+    @Override
+    public boolean contains(@NotNull CharSequence element) {
+        long start = System.nanoTime();
+        boolean result = trie.contains(element);
+        record(Operation.CONTAINS, start);
+        return result;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        long start = System.nanoTime();
+        boolean result = trie.remove(element);
+        record(Operation.REMOVE, start);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        return trie.howManyStartsWithPrefix(prefix);
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull CharSequence prefix) {
+        return trie.howManyStartsWithPrefix(prefix);
+    }
+
+    @Override
+    @Nullable
+    public String nextString(String element, int k) {
+        return trie.nextString(element, k);
+    }
+
+    @Override
+    @NotNull
+    public BitSet containsAll(@NotNull String[] elements) {
+        return trie.containsAll(elements);
+    }
+
+    @Override
+    @NotNull
+    public int[] countPrefixes(@NotNull List<String> prefixes) {
+        return trie.countPrefixes(prefixes);
+    }
+
+    @Override
+    @NotNull
+    public Iterator<String> prefixIterator(@NotNull String prefix, @Nullable String startAfter, int limit) {
+        return trie.prefixIterator(prefix, startAfter, limit);
+    }
+}
@@ -0,0 +1,338 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Immutable trie read straight from a memory-mapped snapshot file, nothing is deserialized on open.
+ * A snapshot is written once by {@link #write(Trie, Path)} and can be opened by any number of processes,
+ * which share the pages of the file. add and remove throw UnsupportedOperationException.
+ * The trie is safe to use from several threads.
+ * <p>
+ * File layout: MAGIC, VERSION, vertex records, offset of the root record (ints are big-endian).
+ * A vertex record is: int (size << 1 | isFinal), int childCount, char[childCount] sorted labels
+ * padded to 4 bytes, int[childCount] offsets of the child records. Children are written before parents.
+ */
+public class MappedTrie extends AbstractTrie {
+
+    private static final int MAGIC = 0x54726965;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int root;
+
+    private MappedTrie(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE + 4 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a trie snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported trie snapshot version " + buffer.getInt(4));
+        }
+        root = buffer.getInt(buffer.limit() - 4);
+    }
+
+    /**
+     * Maps the snapshot file to memory
+     *
+     * @throws IllegalArgumentException if the file is not a trie snapshot
+     */
+    @NotNull
+    public static MappedTrie open(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a snapshot of all strings of the trie to the file
+     */
+    public static void write(@NotNull Trie trie, @NotNull Path file) throws IOException {
+        write(trie.prefixIterator(""), file);
+    }
+
+    /**
+     * Writes a snapshot of strings given in ascending lexicographic order in one pass,
+     * repeated strings are written once
+     *
+     * @throws IllegalArgumentException if the strings are not sorted
+     */
+    public static void write(@NotNull Iterator<String> sortedKeys, @NotNull Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            SnapshotWriter writer = new SnapshotWriter(out);
+            while (sortedKeys.hasNext()) {
+                writer.add(sortedKeys.next());
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Keeps the vertices of the last written string on a stack,
+     * a vertex is written when a string leaves its subtree, so its size and children are known
+     */
+    private static class SnapshotWriter {
+        private final DataOutputStream out;
+        private int position;
+        private Frame[] stack = new Frame[16];
+        private int depth;
+        private String previous;
+
+        private static class Frame {
+            private char label;
+            private int size;
+            private boolean isFinal;
+            private char[] labels = new char[4];
+            private int[] offsets = new int[4];
+            private int childCount;
+
+            private void reset(char label) {
+                this.label = label;
+                size = 0;
+                isFinal = false;
+                childCount = 0;
+            }
+
+            private void addChild(char childLabel, int offset) {
+                if (childCount == labels.length) {
+                    labels = Arrays.copyOf(labels, 2 * childCount);
+                    offsets = Arrays.copyOf(offsets, 2 * childCount);
+                }
+                labels[childCount] = childLabel;
+                offsets[childCount] = offset;
+                childCount++;
+            }
+        }
+
+        private SnapshotWriter(DataOutputStream out) throws IOException {
+            this.out = out;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            position = HEADER_SIZE;
+            push('\0');
+        }
+
+        private void push(char label) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, 2 * depth);
+            }
+            if (stack[depth] == null) {
+                stack[depth] = new Frame();
+            }
+            stack[depth++].reset(label);
+        }
+
+        private int writeTop() throws IOException {
+            Frame frame = stack[--depth];
+            int offset = position;
+            out.writeInt(frame.size << 1 | (frame.isFinal ? 1 : 0));
+            out.writeInt(frame.childCount);
+            for (int i = 0; i < frame.childCount; i++) {
+                out.writeChar(frame.labels[i]);
+            }
+            if (frame.childCount % 2 == 1) {
+                out.writeChar(0);
+            }
+            for (int i = 0; i < frame.childCount; i++) {
+                out.writeInt(frame.offsets[i]);
+            }
+            position += 8 + 2 * (frame.childCount + frame.childCount % 2) + 4 * frame.childCount;
+            if (position < 0) {
+                throw new IllegalStateException("Trie snapshot can not be larger than 2GB");
+            }
+            if (depth > 0) {
+                stack[depth - 1].addChild(frame.label, offset);
+            }
+            return offset;
+        }
+
+        private void add(String key) throws IOException {
+            int common = 0;
+            if (previous != null) {
+                while (common < key.length() && common < previous.length()
+                        && key.charAt(common) == previous.charAt(common)) {
+                    common++;
+                }
+                if (common == key.length() && common == previous.length()) {
+                    return;
+                }
+                if (common == key.length() || common < previous.length() && key.charAt(common) < previous.charAt(common)) {
+                    throw new IllegalArgumentException("Strings should be sorted");
+                }
+            }
+            while (depth > common + 1) {
+                writeTop();
+            }
+            for (int i = common; i < key.length(); i++) {
+                push(key.charAt(i));
+            }
+            stack[depth - 1].isFinal = true;
+            for (int i = 0; i < depth; i++) {
+                stack[i].size++;
+            }
+            previous = key;
+        }
+
+        private void finish() throws IOException {
+            while (depth > 1) {
+                writeTop();
+            }
+            out.writeInt(writeTop());
+        }
+    }
+
+    private int sizeOf(int vertex) {
+        return buffer.getInt(vertex) >>> 1;
+    }
+
+    private boolean isFinal(int vertex) {
+        return (buffer.getInt(vertex) & 1) != 0;
+    }
+
+    private int childCount(int vertex) {
+        return buffer.getInt(vertex + 4);
+    }
+
+    private char labelAt(int vertex, int i) {
+        return buffer.getChar(vertex + 8 + 2 * i);
+    }
+
+    private int childAt(int vertex, int i) {
+        int childCount = childCount(vertex);
+        return buffer.getInt(vertex + 8 + 2 * (childCount + childCount % 2) + 4 * i);
+    }
+
+    /**
+     * Child of the vertex by the char or -1
+     */
+    private int move(int vertex, char c) {
+        int low = 0;
+        int high = childCount(vertex) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = labelAt(vertex, middle);
+            if (label < c) {
+                low = middle + 1;
+            } else if (label > c) {
+                high = middle - 1;
+            } else {
+                return childAt(vertex, middle);
+            }
+        }
+        return -1;
+    }
+
+    private int find(String string) {
+        int vertex = root;
+        for (int i = 0; i < string.length() && vertex >= 0; i++) {
+            vertex = move(vertex, string.charAt(i));
+        }
+        return vertex;
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        throw new UnsupportedOperationException("Mapped trie is immutable");
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        int vertex = find(element);
+        return vertex >= 0 && isFinal(vertex);
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        throw new UnsupportedOperationException("Mapped trie is immutable");
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        int vertex = find(prefix);
+        return vertex < 0 ? 0 : sizeOf(vertex);
+    }
+
+    @Override
+    @NotNull
+    Walker walker() {
+        return new MappedWalker();
+    }
+
+    /**
+     * Children are addressed by their indices in the record of the vertex
+     */
+    private class MappedWalker extends Walker {
+        private int[] vertices = new int[16];
+        private int depth = 1;
+
+        private MappedWalker() {
+            vertices[0] = root;
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return MappedTrie.this.isFinal(vertices[depth - 1]);
+        }
+
+        @Override
+        int size() {
+            return sizeOf(vertices[depth - 1]);
+        }
+
+        @Override
+        int firstChild() {
+            return childCount(vertices[depth - 1]) > 0 ? 0 : NO_CHILD;
+        }
+
+        @Override
+        int nextChild(int child) {
+            return child + 1 < childCount(vertices[depth - 1]) ? child + 1 : NO_CHILD;
+        }
+
+        @Override
+        int childSize(int child) {
+            return sizeOf(childAt(vertices[depth - 1], child));
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return MappedTrie.this.labelAt(vertices[depth - 1], child);
+        }
+
+        @Override
+        void push(int child) {
+            int vertex = childAt(vertices[depth - 1], child);
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = vertex;
+        }
+
+        @Override
+        int pop() {
+            depth--;
+            return 1;
+        }
+    }
+}
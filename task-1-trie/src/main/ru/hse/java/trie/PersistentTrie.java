@@ -0,0 +1,270 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable trie: plus and minus return a new version and leave this one unchanged.
+ * A new version copies only the vertices on the path of the string and shares the rest with the old one,
+ * so an update costs O(|element| * log(alphabet size)) and keeping a version as a snapshot costs nothing.
+ * Versions can be read from any number of threads without locks, iterators of a version are never invalidated.
+ * add and remove throw UnsupportedOperationException
+ */
+public final class PersistentTrie extends AbstractTrie {
+
+    private static final PersistentTrie EMPTY = new PersistentTrie(new Vertex(0, false, Vertex.NO_KEYS, Vertex.NO_CHILDREN));
+
+    private static final class Vertex {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Vertex[] NO_CHILDREN = new Vertex[0];
+
+        private final int size;
+        private final boolean isFinal;
+
+        // children sorted by keys, the arrays are never changed after construction
+        private final char[] keys;
+        private final Vertex[] children;
+
+        private Vertex(int size, boolean isFinal, char[] keys, Vertex[] children) {
+            this.size = size;
+            this.isFinal = isFinal;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        private int findSlot(char c) {
+            return Arrays.binarySearch(keys, c);
+        }
+
+        private Vertex move(char c) {
+            int slot = findSlot(c);
+            return slot < 0 ? null : children[slot];
+        }
+
+        /**
+         * Copy of the vertex with the child by the char added or replaced
+         */
+        private Vertex withChild(char c, Vertex child, int newSize) {
+            int slot = findSlot(c);
+            if (slot >= 0) {
+                Vertex[] newChildren = children.clone();
+                newChildren[slot] = child;
+                return new Vertex(newSize, isFinal, keys, newChildren);
+            }
+            slot = -slot - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Vertex[] newChildren = new Vertex[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            newKeys[slot] = c;
+            newChildren[slot] = child;
+            System.arraycopy(keys, slot, newKeys, slot + 1, keys.length - slot);
+            System.arraycopy(children, slot, newChildren, slot + 1, keys.length - slot);
+            return new Vertex(newSize, isFinal, newKeys, newChildren);
+        }
+
+        /**
+         * Copy of the vertex without the child by the char
+         */
+        private Vertex withoutChild(char c, int newSize) {
+            int slot = findSlot(c);
+            char[] newKeys = new char[keys.length - 1];
+            Vertex[] newChildren = new Vertex[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(keys, slot + 1, newKeys, slot, keys.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, keys.length - slot - 1);
+            return new Vertex(newSize, isFinal, newKeys, newChildren);
+        }
+    }
+
+    private final Vertex root;
+
+    private PersistentTrie(Vertex root) {
+        this.root = root;
+    }
+
+    @NotNull
+    public static PersistentTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Vertices on the path of the string: path[i] is the vertex of the first i chars or null if there is none
+     */
+    private Vertex[] pathOf(String element) {
+        Vertex[] path = new Vertex[element.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < element.length() && path[i] != null; i++) {
+            path[i + 1] = path[i].move(element.charAt(i));
+        }
+        return path;
+    }
+
+    /**
+     * Version with the string added, this version if the string is already here or contains chars
+     * other than Latin letters.
+     * Expected complexity: O(|element| * log(alphabet size))
+     */
+    @NotNull
+    public PersistentTrie plus(@NotNull String element) {
+        if (!isCorrectString(element) || contains(element)) {
+            return this;
+        }
+        Vertex[] path = pathOf(element);
+        Vertex old = path[element.length()];
+        Vertex current = old == null
+                ? new Vertex(1, true, Vertex.NO_KEYS, Vertex.NO_CHILDREN)
+                : new Vertex(old.size + 1, true, old.keys, old.children);
+        for (int i = element.length() - 1; i >= 0; i--) {
+            char c = element.charAt(i);
+            current = path[i] == null
+                    ? new Vertex(1, false, new char[]{c}, new Vertex[]{current})
+                    : path[i].withChild(c, current, path[i].size + 1);
+        }
+        return new PersistentTrie(current);
+    }
+
+    /**
+     * Version with the string removed, this version if the string is not here.
+     * Expected complexity: O(|element| * log(alphabet size))
+     */
+    @NotNull
+    public PersistentTrie minus(@NotNull String element) {
+        if (!contains(element)) {
+            return this;
+        }
+        Vertex[] path = pathOf(element);
+        Vertex old = path[element.length()];
+        // null when the whole subtree is removed
+        Vertex current = old.size == 1 ? null : new Vertex(old.size - 1, false, old.keys, old.children);
+        for (int i = element.length() - 1; i >= 0; i--) {
+            char c = element.charAt(i);
+            if (current != null) {
+                current = path[i].withChild(c, current, path[i].size - 1);
+            } else if (i > 0 && path[i].size == 1) {
+                current = null;
+            } else {
+                current = path[i].withoutChild(c, path[i].size - 1);
+            }
+        }
+        return current == null || current.size == 0 ? EMPTY : new PersistentTrie(current);
+    }
+
+    private Vertex find(String string) {
+        Vertex currVertex = root;
+        for (int i = 0; i < string.length() && currVertex != null; i++) {
+            currVertex = currVertex.move(string.charAt(i));
+        }
+        return currVertex;
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        throw new UnsupportedOperationException("Persistent trie is immutable, use plus");
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        Vertex vertex = find(element);
+        return vertex != null && vertex.isFinal;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        throw new UnsupportedOperationException("Persistent trie is immutable, use minus");
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        Vertex vertex = find(prefix);
+        return vertex == null ? 0 : vertex.size;
+    }
+
+    /**
+     * Reads only this version, so it is never invalidated
+     */
+    @Override
+    @NotNull
+    Walker walker() {
+        return new VersionWalker();
+    }
+
+    /**
+     * Children are addressed by slots
+     */
+    private class VersionWalker extends Walker {
+        private Vertex[] vertices = new Vertex[16];
+        private int depth = 1;
+
+        private VersionWalker() {
+            vertices[0] = root;
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return vertices[depth - 1].isFinal;
+        }
+
+        @Override
+        int size() {
+            return vertices[depth - 1].size;
+        }
+
+        @Override
+        int firstChild() {
+            return vertices[depth - 1].keys.length > 0 ? 0 : NO_CHILD;
+        }
+
+        @Override
+        int nextChild(int child) {
+            return child + 1 < vertices[depth - 1].keys.length ? child + 1 : NO_CHILD;
+        }
+
+        @Override
+        int childFrom(char c) {
+            Vertex vertex = vertices[depth - 1];
+            int slot = vertex.findSlot(c);
+            if (slot < 0) {
+                slot = -slot - 1;
+            }
+            return slot < vertex.keys.length ? slot : NO_CHILD;
+        }
+
+        @Override
+        int childSize(int child) {
+            return vertices[depth - 1].children[child].size;
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return vertices[depth - 1].keys[child];
+        }
+
+        @Override
+        void push(int child) {
+            Vertex vertex = vertices[depth - 1].children[child];
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = vertex;
+        }
+
+        @Override
+        int pop() {
+            vertices[--depth] = null;
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Path-compressed (radix) trie: chains of vertices with a single child and no string ending in them
+ * are merged into one vertex, so an edge carries a range of chars instead of one char.
+ * Edge labels are char arrays of their own, so the trie does not keep the added strings alive.
+ * Subtree sizes are kept as in {@link TrieImpl}, so howManyStartsWithPrefix stays O(|prefix|)
+ */
+public class RadixTrieImpl extends AbstractTrie {
+
+    private static class Vertex {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Vertex[] NO_CHILDREN = new Vertex[0];
+
+        // label of the edge to this vertex, copied from the added string
+        private char[] label;
+
+        private int size;
+        private boolean isFinal;
+
+        // children sorted by the first chars of their labels
+        private char[] firstChars = NO_KEYS;
+        private Vertex[] children = NO_CHILDREN;
+        private int childCount;
+
+        private Vertex(char[] label) {
+            this.label = label;
+        }
+
+        private Vertex(String source, int start, int end) {
+            this(new char[end - start]);
+            source.getChars(start, end, label, 0);
+        }
+
+        private int labelLength() {
+            return label.length;
+        }
+
+        private char labelAt(int i) {
+            return label[i];
+        }
+
+        /**
+         * Cuts the first length chars of the label off into a new parent vertex
+         */
+        private Vertex split(int length) {
+            Vertex middle = new Vertex(Arrays.copyOf(label, length));
+            middle.size = size;
+            label = Arrays.copyOfRange(label, length, label.length);
+            middle.putChild(this);
+            return middle;
+        }
+
+        private int findSlot(char c) {
+            return Arrays.binarySearch(firstChars, 0, childCount, c);
+        }
+
+        private Vertex move(char c) {
+            int slot = findSlot(c);
+            return slot < 0 ? null : children[slot];
+        }
+
+        private void putChild(Vertex child) {
+            char c = child.labelAt(0);
+            int slot = findSlot(c);
+            if (slot >= 0) {
+                children[slot] = child;
+                return;
+            }
+            slot = -slot - 1;
+            if (childCount == children.length) {
+                int newLength = Math.max(2, 2 * childCount);
+                firstChars = Arrays.copyOf(firstChars, newLength);
+                children = Arrays.copyOf(children, newLength);
+            }
+            System.arraycopy(firstChars, slot, firstChars, slot + 1, childCount - slot);
+            System.arraycopy(children, slot, children, slot + 1, childCount - slot);
+            firstChars[slot] = c;
+            children[slot] = child;
+            childCount++;
+        }
+
+        private void removeChild(char c) {
+            int slot = findSlot(c);
+            childCount--;
+            System.arraycopy(firstChars, slot + 1, firstChars, slot, childCount - slot);
+            System.arraycopy(children, slot + 1, children, slot, childCount - slot);
+            children[childCount] = null;
+        }
+
+        /**
+         * Number of chars of the label matching string from the given position
+         */
+        private int match(String string, int from) {
+            int length = Math.min(labelLength(), string.length() - from);
+            int matched = 0;
+            while (matched < length && labelAt(matched) == string.charAt(from + matched)) {
+                matched++;
+            }
+            return matched;
+        }
+
+        /**
+         * Takes the label, children and final mark of its only child, the vertex is not final itself
+         */
+        private void mergeWithChild() {
+            Vertex child = children[0];
+            char[] merged = Arrays.copyOf(label, label.length + child.label.length);
+            System.arraycopy(child.label, 0, merged, label.length, child.label.length);
+            label = merged;
+            isFinal = child.isFinal;
+            firstChars = child.firstChars;
+            children = child.children;
+            childCount = child.childCount;
+        }
+    }
+
+    private final Vertex root = new Vertex(new char[0]);
+
+    /*
+     * Vertices passed by the last add/remove, as in TrieImpl
+     */
+    private Vertex[] path = new Vertex[16];
+    private int pathLength;
+
+    private void pushPath(Vertex vertex) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, 2 * pathLength);
+        }
+        path[pathLength++] = vertex;
+    }
+
+    /**
+     * Vertex of the given string or null if the string ends inside an edge or is not in the trie
+     */
+    private Vertex find(String string) {
+        Vertex currVertex = root;
+        int i = 0;
+        while (i < string.length()) {
+            Vertex child = currVertex.move(string.charAt(i));
+            if (child == null || child.match(string, i) != child.labelLength()) {
+                return null;
+            }
+            i += child.labelLength();
+            currVertex = child;
+        }
+        return currVertex;
+    }
+
+    @Override
+    public boolean add(@NotNull String element) {
+        if (!isCorrectString(element)) {
+            return false;
+        }
+        pathLength = 0;
+        pushPath(root);
+        Vertex currVertex = root;
+        int i = 0;
+        while (i < element.length()) {
+            Vertex child = currVertex.move(element.charAt(i));
+            if (child == null) {
+                Vertex leaf = new Vertex(element, i, element.length());
+                currVertex.putChild(leaf);
+                currVertex = leaf;
+                break;
+            }
+            int matched = child.match(element, i);
+            if (matched < child.labelLength()) {
+                Vertex middle = child.split(matched);
+                currVertex.putChild(middle);
+                pushPath(middle);
+                currVertex = middle;
+                i += matched;
+                if (i < element.length()) {
+                    Vertex leaf = new Vertex(element, i, element.length());
+                    middle.putChild(leaf);
+                    currVertex = leaf;
+                }
+                break;
+            }
+            i += matched;
+            currVertex = child;
+            pushPath(child);
+        }
+        if (currVertex.isFinal) {
+            return false;
+        }
+        currVertex.isFinal = true;
+        // a new leaf is the only vertex of the element missing from the path
+        if (currVertex != path[pathLength - 1]) {
+            currVertex.size = 1;
+        }
+        for (int j = 0; j < pathLength; j++) {
+            path[j].size++;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        Vertex vertex = find(element);
+        return vertex != null && vertex.isFinal;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        pathLength = 0;
+        pushPath(root);
+        Vertex currVertex = root;
+        int i = 0;
+        while (i < element.length()) {
+            Vertex child = currVertex.move(element.charAt(i));
+            if (child == null || child.match(element, i) != child.labelLength()) {
+                return false;
+            }
+            i += child.labelLength();
+            currVertex = child;
+            pushPath(child);
+        }
+        if (!currVertex.isFinal) {
+            return false;
+        }
+        currVertex.isFinal = false;
+        for (int j = 0; j < pathLength; j++) {
+            path[j].size--;
+        }
+
+        if (currVertex == root) {
+            return true;
+        }
+        Vertex parent = path[pathLength - 2];
+        if (currVertex.size == 0) {
+            parent.removeChild(currVertex.labelAt(0));
+            if (parent != root && !parent.isFinal && parent.childCount == 1) {
+                parent.mergeWithChild();
+            }
+        } else if (currVertex.childCount == 1) {
+            currVertex.mergeWithChild();
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        Vertex currVertex = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Vertex child = currVertex.move(prefix.charAt(i));
+            if (child == null) {
+                return 0;
+            }
+            int matched = child.match(prefix, i);
+            if (i + matched == prefix.length()) {
+                return child.size;
+            }
+            if (matched < child.labelLength()) {
+                return 0;
+            }
+            i += matched;
+            currVertex = child;
+        }
+        return currVertex.size;
+    }
+
+    @Override
+    @NotNull
+    Walker walker() {
+        return new RadixWalker();
+    }
+
+    /**
+     * Children are addressed by slots, edges are labeled by whole ranges
+     */
+    private class RadixWalker extends Walker {
+        private Vertex[] vertices = new Vertex[16];
+        private int depth = 1;
+
+        private RadixWalker() {
+            vertices[0] = root;
+        }
+
+        private Vertex child(int slot) {
+            return vertices[depth - 1].children[slot];
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return vertices[depth - 1].isFinal;
+        }
+
+        @Override
+        int size() {
+            return vertices[depth - 1].size;
+        }
+
+        @Override
+        int firstChild() {
+            return vertices[depth - 1].childCount > 0 ? 0 : NO_CHILD;
+        }
+
+        @Override
+        int nextChild(int child) {
+            return child + 1 < vertices[depth - 1].childCount ? child + 1 : NO_CHILD;
+        }
+
+        @Override
+        int childSize(int child) {
+            return child(child).size;
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return child(child).labelAt(i);
+        }
+
+        @Override
+        int labelLength(int child) {
+            return child(child).labelLength();
+        }
+
+        @Override
+        void appendLabel(int child, StringBuilder builder) {
+            Vertex vertex = child(child);
+            builder.append(vertex.label);
+        }
+
+        @Override
+        void push(int child) {
+            Vertex vertex = child(child);
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = vertex;
+        }
+
+        @Override
+        int pop() {
+            Vertex vertex = vertices[--depth];
+            vertices[depth] = null;
+            return vertex.labelLength();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Index of the strings of a trie by their substrings, a snapshot: later changes of the trie are not seen.
+ * Keeps a suffix array over the strings: suffixes starting with a pattern make a contiguous range of it,
+ * as strings starting with a prefix make a subtree of the trie, so counting them needs only the ends of the range.
+ * Takes about 6 bytes per char of the strings and 4 bytes per string, where a suffix trie would take O(total length^2)
+ */
+public class SubstringIndex {
+
+    // chars of all strings, each followed by one unused position marked in ends
+    private final char[] text;
+    private final BitSet ends;
+    // keyStarts[i] is the position of the first char of the i-th string in lexicographic order
+    private final int[] keyStarts;
+    // positions of all non-empty suffixes in lexicographic order of suffixes
+    private final int[] suffixes;
+
+    /**
+     * Expected complexity: O(total length * log(total length)) for strings of bounded length
+     */
+    public SubstringIndex(@NotNull Trie trie) {
+        int keyCount = trie.size();
+        keyStarts = new int[keyCount + 1];
+        StringBuilder textBuilder = new StringBuilder();
+        Iterator<String> keys = trie.prefixIterator("");
+        for (int key = 0; key < keyCount; key++) {
+            keyStarts[key] = textBuilder.length();
+            textBuilder.append(keys.next()).append('\0');
+        }
+        keyStarts[keyCount] = textBuilder.length();
+        text = new char[textBuilder.length()];
+        textBuilder.getChars(0, text.length, text, 0);
+
+        ends = new BitSet(text.length);
+        suffixes = new int[text.length - keyCount];
+        int count = 0;
+        for (int key = 0; key < keyCount; key++) {
+            int end = keyStarts[key + 1] - 1;
+            ends.set(end);
+            for (int position = keyStarts[key]; position < end; position++) {
+                suffixes[count++] = position;
+            }
+        }
+        sort(0, suffixes.length, 0);
+    }
+
+    /**
+     * Char at the position or -1 at the end of a string, so shorter suffixes go first
+     */
+    private int charAt(int position) {
+        return ends.get(position) ? -1 : text[position];
+    }
+
+    private void swap(int i, int j) {
+        int swap = suffixes[i];
+        suffixes[i] = suffixes[j];
+        suffixes[j] = swap;
+    }
+
+    /**
+     * Three-way radix quicksort of suffixes[from, to) which are known to have equal first depth chars
+     */
+    private void sort(int from, int to, int depth) {
+        while (to - from > 1) {
+            if (to - from < 8) {
+                insertionSort(from, to, depth);
+                return;
+            }
+            int pivot = charAt(suffixes[from + (to - from) / 2] + depth);
+            int less = from;
+            int greater = to;
+            int i = from;
+            while (i < greater) {
+                int c = charAt(suffixes[i] + depth);
+                if (c < pivot) {
+                    swap(less++, i++);
+                } else if (c > pivot) {
+                    swap(i, --greater);
+                } else {
+                    i++;
+                }
+            }
+            sort(from, less, depth);
+            sort(greater, to, depth);
+            // suffixes with the pivot char are sorted by the next char in the loop instead of a recursive call
+            if (pivot == -1) {
+                return;
+            }
+            from = less;
+            to = greater;
+            depth++;
+        }
+    }
+
+    private void insertionSort(int from, int to, int depth) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && compareSuffixes(suffixes[j - 1], suffixes[j], depth) > 0; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private int compareSuffixes(int first, int second, int depth) {
+        while (true) {
+            int firstChar = charAt(first + depth);
+            int secondChar = charAt(second + depth);
+            if (firstChar != secondChar || firstChar == -1) {
+                return firstChar - secondChar;
+            }
+            depth++;
+        }
+    }
+
+    /**
+     * Compares the suffix with the pattern by the first |pattern| chars, 0 if the suffix starts with the pattern
+     */
+    private int compareWithPattern(int position, String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            int c = charAt(position + i);
+            if (c != pattern.charAt(i)) {
+                return c - pattern.charAt(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * First index of the suffix array with a suffix greater than the pattern (strictly if isUpper)
+     */
+    private int bound(String pattern, boolean isUpper) {
+        int left = 0;
+        int right = suffixes.length;
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            int comparison = compareWithPattern(suffixes[middle], pattern);
+            if (comparison < 0 || isUpper && comparison == 0) {
+                left = middle + 1;
+            } else {
+                right = middle;
+            }
+        }
+        return left;
+    }
+
+    private int keyOf(int position) {
+        int key = Arrays.binarySearch(keyStarts, position);
+        return key < 0 ? -key - 2 : key;
+    }
+
+    /**
+     * Sorted distinct numbers of strings containing the non-empty pattern
+     */
+    private int[] keysOf(String pattern) {
+        int from = bound(pattern, false);
+        int to = bound(pattern, true);
+        int[] keys = new int[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = keyOf(suffixes[i]);
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /**
+     * Number of indexed strings
+     */
+    public int size() {
+        return keyStarts.length - 1;
+    }
+
+    /**
+     * Number of occurrences of the pattern in all strings, an occurrence is a pair of a string and a position.
+     * The empty pattern occurs at every position of every string including its end.
+     * Expected complexity: O(|pattern| * log(total length))
+     */
+    public int countOccurrences(@NotNull String pattern) {
+        if (pattern.isEmpty()) {
+            return text.length;
+        }
+        return bound(pattern, true) - bound(pattern, false);
+    }
+
+    /**
+     * Number of strings containing the pattern.
+     * Expected complexity: O(|pattern| * log(total length) + occurrences * log(occurrences))
+     */
+    public int howManyContain(@NotNull String pattern) {
+        return pattern.isEmpty() ? size() : keysOf(pattern).length;
+    }
+
+    /**
+     * Strings containing the pattern in lexicographic order.
+     * Expected complexity: O(|pattern| * log(total length) + occurrences * log(occurrences) + output length)
+     */
+    @NotNull
+    public List<String> keysContaining(@NotNull String pattern) {
+        List<String> result = new ArrayList<>();
+        if (pattern.isEmpty()) {
+            for (int key = 0; key < size(); key++) {
+                result.add(keyAt(key));
+            }
+            return result;
+        }
+        for (int key : keysOf(pattern)) {
+            result.add(keyAt(key));
+        }
+        return result;
+    }
+
+    private String keyAt(int key) {
+        return new String(text, keyStarts[key], keyStarts[key + 1] - keyStarts[key] - 1);
+    }
+}
@@ -3,6 +3,15 @@ package ru.hse.java.trie;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.CharBuffer;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface Trie {
 
     /**
@@ -25,6 +34,38 @@ public interface Trie {
      */
     boolean remove(@NotNull String element);
 
+    /**
+     * Same as add(element.toString()), implementations may read the chars in place
+     */
+    default boolean add(@NotNull CharSequence element) {
+        return add(element.toString());
+    }
+
+    /**
+     * Adds the string chars[offset, offset + length)
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the array
+     */
+    default boolean add(@NotNull char[] chars, int offset, int length) {
+        return add(CharBuffer.wrap(chars, offset, length));
+    }
+
+    /**
+     * Same as contains(element.toString()), implementations may read the chars in place
+     */
+    default boolean contains(@NotNull CharSequence element) {
+        return contains(element.toString());
+    }
+
+    /**
+     * Checks the string chars[offset, offset + length)
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the array
+     */
+    default boolean contains(@NotNull char[] chars, int offset, int length) {
+        return contains(CharBuffer.wrap(chars, offset, length));
+    }
+
     /**
      * Expected complexity: O(1)
      */
@@ -35,6 +76,22 @@ public interface Trie {
      */
     int howManyStartsWithPrefix(@NotNull String prefix);
 
+    /**
+     * Same as howManyStartsWithPrefix(prefix.toString()), implementations may read the chars in place
+     */
+    default int howManyStartsWithPrefix(@NotNull CharSequence prefix) {
+        return howManyStartsWithPrefix(prefix.toString());
+    }
+
+    /**
+     * Counts strings starting with chars[offset, offset + length)
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the array
+     */
+    default int howManyStartsWithPrefix(@NotNull char[] chars, int offset, int length) {
+        return howManyStartsWithPrefix(CharBuffer.wrap(chars, offset, length));
+    }
+
     /**
      * Get String in trie, next after [element] up to k elements
      * Expected complexity: O(|trie depth|)
@@ -43,6 +100,72 @@ public interface Trie {
      */
     @Nullable
     String nextString(String element, int k);
-}
 
+    /**
+     * Checks a batch of strings at once.
+     * Expected complexity: O(total length of elements)
+     *
+     * @return set of indices i such that elements[i] is in the trie
+     */
+    @NotNull
+    default BitSet containsAll(@NotNull String[] elements) {
+        BitSet result = new BitSet(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            if (contains(elements[i])) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts strings starting with each prefix of a batch.
+     * Expected complexity: O(total length of prefixes)
+     *
+     * @return array with howManyStartsWithPrefix(prefixes.get(i)) at index i
+     */
+    @NotNull
+    default int[] countPrefixes(@NotNull List<String> prefixes) {
+        int[] result = new int[prefixes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = howManyStartsWithPrefix(prefixes.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Lazily iterates over strings starting with [prefix] in lexicographic order.
+     * The iterator is not valid after the trie is changed.
+     * Expected complexity: O(|prefix| + |startAfter|) to create,
+     * then amortized O(|returned string|) per string
+     *
+     * @param startAfter if not null, only strings greater than it are returned
+     * @param limit      maximal number of strings to return
+     */
+    @NotNull
+    Iterator<String> prefixIterator(@NotNull String prefix, @Nullable String startAfter, int limit);
+
+    @NotNull
+    default Iterator<String> prefixIterator(@NotNull String prefix) {
+        return prefixIterator(prefix, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cursor at the element or at the next string after it if the element is not in the trie.
+     * Expected complexity: O(|element|) to create, then a step walks the edges between two neighbouring strings
+     */
+    @NotNull
+    default TrieCursor cursor(@NotNull String element) {
+        return new TrieCursor(this, element);
+    }
 
+    /**
+     * Lazy stream of strings starting with [prefix] in lexicographic order
+     */
+    @NotNull
+    default Stream<String> withPrefix(@NotNull String prefix) {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL;
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(prefixIterator(prefix), characteristics), false);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+
+/**
+ * Position in the lexicographic order of the strings of a trie, for paging through them.
+ * It keeps the stack of vertices of a prefix iterator, so a step only walks the edges between two neighbouring
+ * strings instead of a descent from the root by nextString. For the tries of this package the string itself
+ * is built by current() when it is asked for, other tries build it on every step.
+ * The cursor is not valid after the trie is changed
+ */
+public class TrieCursor {
+    // advance(k) for larger k jumps by subtree sizes instead of walking k strings
+    private static final int MAX_STEPS = 8;
+
+    private final Trie trie;
+    private Iterator<String> following;
+    // the same iterator if it can step without building strings, otherwise null
+    private AbstractTrie.PrefixIterator walk;
+    // whether the cursor is at the string the walk stands at instead of at current
+    private boolean isAtWalk;
+    private String current;
+
+    /**
+     * Cursor at the element if it is in the trie, otherwise at the next string after it
+     */
+    TrieCursor(@NotNull Trie trie, @NotNull String element) {
+        this.trie = trie;
+        startAfter(element);
+        if (trie.contains(element)) {
+            current = element;
+        } else {
+            step();
+        }
+    }
+
+    private void startAfter(String element) {
+        following = trie.prefixIterator("", element, Integer.MAX_VALUE);
+        walk = following instanceof AbstractTrie.PrefixIterator ? (AbstractTrie.PrefixIterator) following : null;
+        isAtWalk = false;
+    }
+
+    private boolean isAtString() {
+        return isAtWalk ? walk.hasNext() : current != null;
+    }
+
+    private void step() {
+        if (walk == null) {
+            current = following.hasNext() ? following.next() : null;
+            return;
+        }
+        if (isAtWalk) {
+            walk.skip();
+        }
+        isAtWalk = true;
+        current = null;
+    }
+
+    /**
+     * Expected complexity: O(|current string|) for the first call at a string, then O(1)
+     *
+     * @return string at the cursor or null if the cursor has passed the last string
+     */
+    @Nullable
+    public String current() {
+        if (isAtWalk && current == null && walk.hasNext()) {
+            current = walk.peek().toString();
+        }
+        return current;
+    }
+
+    /**
+     * Moves the cursor to the next string
+     *
+     * @return <tt>true</tt> if there was one
+     */
+    public boolean advance() {
+        if (isAtString()) {
+            step();
+        }
+        return isAtString();
+    }
+
+    /**
+     * Moves the cursor k strings forward, the same as k calls of advance().
+     * Small k are stepped over, larger ones are skipped by nextString, which counts strings by subtree sizes.
+     * Expected complexity: O(min(k, MAX_STEPS)) steps or O(|current string| + |trie depth|) for the skip
+     *
+     * @return <tt>true</tt> if the cursor is at a string after that
+     */
+    public boolean advance(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Only not negative k!!");
+        }
+        if (!isAtString()) {
+            return false;
+        }
+        if (k <= MAX_STEPS) {
+            for (int i = 0; i < k && isAtString(); i++) {
+                step();
+            }
+            return isAtString();
+        }
+        String next = trie.nextString(current(), k);
+        if (next == null) {
+            isAtWalk = false;
+            current = null;
+            return false;
+        }
+        startAfter(next);
+        current = next;
+        return true;
+    }
+}
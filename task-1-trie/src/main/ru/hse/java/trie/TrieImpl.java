@@ -4,93 +4,533 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
 import java.lang.String;
-import java.util.Map;
 
-public class TrieImpl implements Trie {
+public class TrieImpl extends AbstractTrie {
 
-    private static class Vertex {
-        private int size;
-        private boolean isFinal;
-        private final HashMap<Character, Vertex> nextVertex = new HashMap<>();
+    private static final int DENSE_THRESHOLD = 8;
+    private static final int MAX_DENSE_SPAN = 64;
 
+    /**
+     * Subclasses may keep more data in vertices by overriding {@link #newVertex()}
+     */
+    static class Vertex {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Vertex[] NO_CHILDREN = new Vertex[0];
 
-        private Vertex getOrCreate(Character elem) {
-            if (!nextVertex.containsKey(elem)) {
-                nextVertex.put(elem, new Vertex());
+        int size;
+        boolean isFinal;
+
+        /*
+         * Children are kept sorted in one of two layouts chosen per vertex:
+         * sparse -- keys[0..childCount) ascending, children[i] is the child by keys[i];
+         * dense -- keys == null, children[c - base] is the child by c, empty slots are null.
+         * A sparse vertex becomes dense when it gets more than DENSE_THRESHOLD children
+         * and they fit into MAX_DENSE_SPAN consecutive chars, as Latin letters do.
+         * Wider alphabets stay sparse and are searched in binary.
+         */
+        private char[] keys = NO_KEYS;
+        private Vertex[] children = NO_CHILDREN;
+        private int childCount;
+        private char base;
+
+        /**
+         * Slot of the sparse layout where the char is or should be inserted
+         */
+        private int findSlot(char elem) {
+            if (childCount <= DENSE_THRESHOLD) {
+                int slot = 0;
+                while (slot < childCount && keys[slot] < elem) {
+                    slot++;
+                }
+                return slot;
+            }
+            int slot = Arrays.binarySearch(keys, 0, childCount, elem);
+            return slot < 0 ? -slot - 1 : slot;
+        }
+
+        /**
+         * Adds a child by a char which the vertex has no child by yet
+         */
+        private void putChild(char elem, Vertex child) {
+            if (keys != null && childCount >= DENSE_THRESHOLD
+                    && Math.max(elem, keys[childCount - 1]) - Math.min(elem, keys[0]) < MAX_DENSE_SPAN) {
+                makeDense();
+            }
+            if (keys == null) {
+                int from = Math.min(elem, base);
+                int to = Math.max(elem + 1, base + children.length);
+                if (to - from > MAX_DENSE_SPAN) {
+                    makeSparse();
+                } else {
+                    if (from != base || to != base + children.length) {
+                        Vertex[] dense = new Vertex[to - from];
+                        System.arraycopy(children, 0, dense, base - from, children.length);
+                        children = dense;
+                        base = (char) from;
+                    }
+                    children[elem - base] = child;
+                    childCount++;
+                    return;
+                }
+            }
+            if (childCount == keys.length) {
+                int newLength = Math.max(2, 2 * childCount);
+                keys = Arrays.copyOf(keys, newLength);
+                children = Arrays.copyOf(children, newLength);
             }
-            return nextVertex.get(elem);
+            int slot = findSlot(elem);
+            System.arraycopy(keys, slot, keys, slot + 1, childCount - slot);
+            System.arraycopy(children, slot, children, slot + 1, childCount - slot);
+            keys[slot] = elem;
+            children[slot] = child;
+            childCount++;
         }
 
-        private Vertex move(Character elem) {
-            return nextVertex.get(elem);
+        private void makeDense() {
+            base = keys[0];
+            Vertex[] dense = new Vertex[keys[childCount - 1] - base + 1];
+            for (int slot = 0; slot < childCount; slot++) {
+                dense[keys[slot] - base] = children[slot];
+            }
+            keys = null;
+            children = dense;
         }
 
+        private void makeSparse() {
+            char[] sparseKeys = new char[2 * childCount];
+            Vertex[] sparseChildren = new Vertex[2 * childCount];
+            int count = 0;
+            for (int slot = 0; slot < children.length; slot++) {
+                if (children[slot] != null) {
+                    sparseKeys[count] = (char) (base + slot);
+                    sparseChildren[count] = children[slot];
+                    count++;
+                }
+            }
+            keys = sparseKeys;
+            children = sparseChildren;
+        }
+
+        private Vertex move(char elem) {
+            if (keys == null) {
+                int index = elem - base;
+                return index >= 0 && index < children.length ? children[index] : null;
+            }
+            int slot = findSlot(elem);
+            return slot < childCount && keys[slot] == elem ? children[slot] : null;
+        }
+
+        private void removeChild(char elem) {
+            childCount--;
+            if (keys == null) {
+                children[elem - base] = null;
+                return;
+            }
+            int slot = findSlot(elem);
+            System.arraycopy(keys, slot + 1, keys, slot, childCount - slot);
+            System.arraycopy(children, slot + 1, children, slot, childCount - slot);
+            children[childCount] = null;
+        }
+
+        /**
+         * Children are visited in lexicographic order by slots 0..slotCount(),
+         * slots of a dense vertex may be empty
+         */
+        int slotCount() {
+            return keys == null ? children.length : childCount;
+        }
+
+        Vertex childAt(int slot) {
+            return children[slot];
+        }
+
+        char keyAt(int slot) {
+            return keys == null ? (char) (base + slot) : keys[slot];
+        }
+
+        /**
+         * First slot with children by chars not less than the given one
+         */
+        private int slotFrom(char elem) {
+            if (keys == null) {
+                return Math.max(0, Math.min(elem - base, children.length));
+            }
+            return findSlot(elem);
+        }
+
+        /**
+         * The slot or the next one holding a child, slotCount() if there is none
+         */
+        private int skipEmpty(int slot) {
+            while (slot < slotCount() && children[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
     }
 
     private final Vertex root;
+    private final IntPredicate isAllowed;
+
+    /*
+     * Vertices passed by the last add/remove: path[i] is the vertex of the first i chars.
+     * Mutations update subtree sizes through it instead of walking the key twice.
+     */
+    Vertex[] path = new Vertex[16];
 
+    /**
+     * Trie of strings of Latin letters in both registers
+     */
     public TrieImpl() {
+        this(Alphabet::contains);
+    }
+
+    /**
+     * Trie of strings of any chars, add() rejects strings with code points not satisfying the predicate.
+     * Strings are stored by UTF-16 chars, so the order of nextString is the order of String.compareTo
+     *
+     * @param isAllowed checks code points of added strings, e.g. {@code codePoint -> true} for any string
+     */
+    public TrieImpl(@NotNull IntPredicate isAllowed) {
         root = new Vertex();
+        this.isAllowed = isAllowed;
+    }
+
+    TrieImpl(@NotNull Vertex root) {
+        this(root, Alphabet::contains);
+    }
+
+    TrieImpl(@NotNull Vertex root, @NotNull IntPredicate isAllowed) {
+        this.root = root;
+        this.isAllowed = isAllowed;
     }
 
-    private static void checkCorrectString(String string) throws IllegalArgumentException {
-        if (string == null || !string.matches("^[A-Za-z]*$")) {
-            throw new IllegalArgumentException("Trie only supports Latin letters in both registers(with empty string)");
+    /**
+     * Builds a trie from strings in ascending lexicographic order in one pass,
+     * repeated strings are added once.
+     * Expected complexity: O(total length of strings)
+     *
+     * @throws IllegalArgumentException if the strings are not sorted or contain chars other than Latin letters
+     */
+    @NotNull
+    public static TrieImpl fromSorted(@NotNull Iterator<String> sortedKeys) {
+        SortedBuilder builder = new SortedBuilder(0);
+        while (sortedKeys.hasNext()) {
+            builder.add(sortedKeys.next());
         }
+        return new TrieImpl(builder.root);
     }
 
-    @Override
-    public boolean add(@NotNull String element) {
-        try {
-            checkCorrectString(element);
-            if (contains(element)) {
-                return false;
+    /**
+     * Same as {@link #fromSorted(Iterator)}, but subtrees of different first letters are built in parallel
+     *
+     * @throws IllegalArgumentException if the strings are not sorted or contain chars other than Latin letters
+     */
+    @NotNull
+    public static TrieImpl fromSorted(@NotNull List<String> sortedKeys, @NotNull ForkJoinPool pool) {
+        Vertex root = new Vertex();
+        int from = 0;
+        while (from < sortedKeys.size() && sortedKeys.get(from).isEmpty()) {
+            root.isFinal = true;
+            root.size = 1;
+            from++;
+        }
+
+        List<Character> letters = new ArrayList<>();
+        List<ForkJoinTask<Vertex>> subtrees = new ArrayList<>();
+        while (from < sortedKeys.size()) {
+            String first = sortedKeys.get(from);
+            if (first.isEmpty() || !letters.isEmpty() && letters.get(letters.size() - 1) >= first.charAt(0)) {
+                throw new IllegalArgumentException("Strings should be sorted");
+            }
+            char letter = first.charAt(0);
+            if (!isCorrectChar(letter)) {
+                throw new IllegalArgumentException("Trie only supports Latin letters in both registers(with empty string)");
+            }
+            int to = from;
+            while (to < sortedKeys.size() && !sortedKeys.get(to).isEmpty() && sortedKeys.get(to).charAt(0) == letter) {
+                to++;
+            }
+            List<String> group = sortedKeys.subList(from, to);
+            letters.add(letter);
+            subtrees.add(pool.submit(() -> {
+                SortedBuilder builder = new SortedBuilder(1);
+                for (String key : group) {
+                    builder.add(key);
+                }
+                return builder.root;
+            }));
+            from = to;
+        }
+
+        for (int i = 0; i < subtrees.size(); i++) {
+            Vertex subtree = subtrees.get(i).join();
+            root.putChild(letters.get(i), subtree);
+            root.size += subtree.size;
+        }
+        return new TrieImpl(root);
+    }
+
+    /**
+     * Builds a subtree from sorted strings, skipping their first offset chars, which are the same for all of them.
+     * Each string shares the vertices of its common prefix with the previous one, so no lookups are needed
+     */
+    private static class SortedBuilder {
+        private final int offset;
+        private final Vertex root = new Vertex();
+        private Vertex[] path = new Vertex[16];
+        private String previous;
+
+        private SortedBuilder(int offset) {
+            this.offset = offset;
+        }
+
+        private void add(String key) {
+            for (int i = offset; i < key.length(); i++) {
+                if (!isCorrectChar(key.charAt(i))) {
+                    throw new IllegalArgumentException("Trie only supports Latin letters in both registers(with empty string)");
+                }
+            }
+            int common = offset;
+            if (previous != null) {
+                while (common < key.length() && common < previous.length()
+                        && key.charAt(common) == previous.charAt(common)) {
+                    common++;
+                }
+                if (common == key.length() && common == previous.length()) {
+                    return;
+                }
+                if (common == key.length() || common < previous.length() && key.charAt(common) < previous.charAt(common)) {
+                    throw new IllegalArgumentException("Strings should be sorted");
+                }
             }
-            Vertex currVertex = root;
-            currVertex.size++;
-            for (char el : element.toCharArray()) {
-                currVertex = currVertex.getOrCreate(el);
-                currVertex.size++;
+            if (path.length <= key.length() - offset) {
+                path = Arrays.copyOf(path, Math.max(2 * path.length, key.length() - offset + 1));
+            }
+
+            path[0] = root;
+            for (int i = 0; i <= common - offset; i++) {
+                path[i].size++;
+            }
+            Vertex currVertex = path[common - offset];
+            for (int i = common; i < key.length(); i++) {
+                Vertex child = new Vertex();
+                child.size = 1;
+                currVertex.putChild(key.charAt(i), child);
+                currVertex = child;
+                path[i - offset + 1] = currVertex;
             }
             currVertex.isFinal = true;
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+            previous = key;
         }
+    }
 
+    private static boolean isCorrectChar(char c) {
+        return Alphabet.contains(c);
     }
 
-    @Override
-    public boolean contains(@NotNull String element) {
+    /**
+     * Vertex for a new string added by add()
+     */
+    @NotNull
+    Vertex newVertex() {
+        return new Vertex();
+    }
+
+    /**
+     * Descends from the root along the element while the trie has the vertices, filling path
+     *
+     * @return number of chars passed
+     */
+    private int descend(CharSequence element) {
+        if (path.length <= element.length()) {
+            path = new Vertex[Math.max(2 * path.length, element.length() + 1)];
+        }
         Vertex currVertex = root;
-        for (char el : element.toCharArray()) {
-            currVertex = currVertex.move(el);
+        path[0] = currVertex;
+        int depth = 0;
+        while (depth < element.length()) {
+            currVertex = currVertex.move(element.charAt(depth));
             if (currVertex == null) {
+                break;
+            }
+            path[++depth] = currVertex;
+        }
+        return depth;
+    }
+
+    /**
+     * Checks code points of the string from the given char, the chars before it are already in the trie
+     */
+    private boolean isAllowedFrom(CharSequence element, int from) {
+        if (from > 0 && Character.isHighSurrogate(element.charAt(from - 1))) {
+            from--;
+        }
+        for (int i = from; i < element.length(); ) {
+            int codePoint = Character.codePointAt(element, i);
+            if (!isAllowed.test(codePoint)) {
                 return false;
             }
+            i += Character.charCount(codePoint);
         }
-        return currVertex.isFinal;
+        return true;
     }
 
     @Override
-    public boolean remove(@NotNull String element) {
-        if (!contains(element)) {
-            return false;
+    public boolean add(@NotNull String element) {
+        return add((CharSequence) element);
+    }
+
+    /**
+     * Reads the chars in place, only new vertices are allocated
+     */
+    @Override
+    public boolean add(@NotNull CharSequence element) {
+        int sizeBefore = root.size;
+        return insert(element) != null && root.size != sizeBefore;
+    }
+
+    /**
+     * Adds the string if it is not here yet, path[0..|element|] is left filled with the vertices of its prefixes
+     *
+     * @return vertex of the string or null if the string has code points which are not allowed
+     */
+    @Nullable
+    Vertex insert(@NotNull CharSequence element) {
+        int depth = descend(element);
+        if (!isAllowedFrom(element, depth)) {
+            return null;
+        }
+        if (depth == element.length() && path[depth].isFinal) {
+            return path[depth];
+        }
+        for (int i = 0; i <= depth; i++) {
+            path[i].size++;
+        }
+        Vertex currVertex = path[depth];
+        for (int i = depth; i < element.length(); i++) {
+            // the rest of the string has no vertices yet
+            Vertex child = newVertex();
+            child.size = 1;
+            currVertex.putChild(element.charAt(i), child);
+            currVertex = child;
+            path[i + 1] = currVertex;
+        }
+        currVertex.isFinal = true;
+        return currVertex;
+    }
+
+    /**
+     * Vertex of the given string or null if there is no such path in the trie
+     */
+    Vertex find(@NotNull CharSequence string) {
+        Vertex currVertex = root;
+        for (int i = 0; i < string.length() && currVertex != null; i++) {
+            currVertex = currVertex.move(string.charAt(i));
         }
+        return currVertex;
+    }
+
+    /**
+     * Vertex of the string chars[offset, offset + length) or null, walks the array without wrapping it
+     */
+    private Vertex find(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
         Vertex currVertex = root;
-        currVertex.size--;
-        for (char el : element.toCharArray()) {
-            if(currVertex.move(el).size == 1) {
-                currVertex.nextVertex.remove(el);
-                return true;
+        for (int i = offset; i < offset + length && currVertex != null; i++) {
+            currVertex = currVertex.move(chars[i]);
+        }
+        return currVertex;
+    }
+
+    @Override
+    public boolean contains(@NotNull String element) {
+        Vertex currVertex = find(element);
+        return currVertex != null && currVertex.isFinal;
+    }
+
+    /**
+     * Reads the chars in place and allocates nothing
+     */
+    @Override
+    public boolean contains(@NotNull CharSequence element) {
+        Vertex currVertex = find(element);
+        return currVertex != null && currVertex.isFinal;
+    }
+
+    /**
+     * Reads the array in place and allocates nothing
+     */
+    @Override
+    public boolean contains(@NotNull char[] chars, int offset, int length) {
+        Vertex currVertex = find(chars, offset, length);
+        return currVertex != null && currVertex.isFinal;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        return delete(element) != null;
+    }
+
+    /**
+     * Removes the string, path[0..|element|] is left filled with the vertices its prefixes had,
+     * the ones below the cut subtree are not in the trie anymore
+     *
+     * @return vertex the string had, maybe cut off with its subtree, or null if the string is not here
+     */
+    @Nullable
+    Vertex delete(@NotNull String element) {
+        int depth = descend(element);
+        Vertex vertex = path[depth];
+        if (depth < element.length() || !vertex.isFinal) {
+            return null;
+        }
+        for (int i = 0; i < depth; i++) {
+            path[i].size--;
+            if (path[i + 1].size == 1) {
+                path[i].removeChild(element.charAt(i));
+                return vertex;
             }
-            currVertex = currVertex.move(el);
-            currVertex.size--;
         }
-        currVertex.isFinal = false;
-        return true;
+        vertex.size--;
+        vertex.isFinal = false;
+        return vertex;
+    }
+
+    /**
+     * Removes all strings starting with the prefix
+     *
+     * @return number of strings removed
+     */
+    int deletePrefix(@NotNull CharSequence prefix) {
+        int depth = descend(prefix);
+        if (depth < prefix.length() || path[depth].size == 0) {
+            return 0;
+        }
+        int removed = path[depth].size;
+        for (int i = 0; i < depth; i++) {
+            path[i].size -= removed;
+            if (path[i + 1].size == removed) {
+                path[i].removeChild(prefix.charAt(i));
+                return removed;
+            }
+        }
+        // the prefix is empty
+        root.size = 0;
+        root.isFinal = false;
+        root.keys = Vertex.NO_KEYS;
+        root.children = Vertex.NO_CHILDREN;
+        root.childCount = 0;
+        return removed;
     }
 
     @Override
@@ -98,94 +538,351 @@ public class TrieImpl implements Trie {
         return root.size;
     }
 
-    @Override
-    public int howManyStartsWithPrefix(@NotNull String prefix) {
-        Vertex currVertex = root;
-        for (char c : prefix.toCharArray()) {
-            currVertex = currVertex.move(c);
-            if(currVertex == null) {
-                return 0;
+    /**
+     * Counts vertices by depth, by number of children and by layout, and estimates their memory.
+     * Complexity: O(number of vertices)
+     */
+    @NotNull
+    public TrieStats stats() {
+        int vertexCount = 0;
+        int finalCount = 0;
+        int sparseCount = 0;
+        int denseCount = 0;
+        long sparseBytes = 0;
+        long denseBytes = 0;
+        int[] depthHistogram = new int[1];
+        int[] branchingHistogram = new int[1];
+        long vertexBytes = TrieStats.objectBytes(12 + 4 + 1 + 4 + 4 + 4 + 2);
+
+        Vertex[] vertices = new Vertex[16];
+        int[] depths = new int[16];
+        int stackSize = 0;
+        vertices[stackSize] = root;
+        depths[stackSize++] = 0;
+        while (stackSize > 0) {
+            Vertex vertex = vertices[--stackSize];
+            int depth = depths[stackSize];
+            vertices[stackSize] = null;
+
+            vertexCount++;
+            if (vertex.isFinal) {
+                finalCount++;
+            }
+            if (depth >= depthHistogram.length) {
+                depthHistogram = Arrays.copyOf(depthHistogram, 2 * depth);
+            }
+            depthHistogram[depth]++;
+            if (vertex.childCount >= branchingHistogram.length) {
+                branchingHistogram = Arrays.copyOf(branchingHistogram, 2 * vertex.childCount);
+            }
+            branchingHistogram[vertex.childCount]++;
+
+            // shared empty arrays of leaves are not counted
+            long childrenBytes = vertex.children.length == 0 ? 0 : TrieStats.arrayBytes(vertex.children.length, 4);
+            if (vertex.keys == null) {
+                denseCount++;
+                denseBytes += vertexBytes + childrenBytes;
+            } else {
+                sparseCount++;
+                long keysBytes = vertex.keys.length == 0 ? 0 : TrieStats.arrayBytes(vertex.keys.length, 2);
+                sparseBytes += vertexBytes + keysBytes + childrenBytes;
+            }
+
+            for (int slot = 0; slot < vertex.slotCount(); slot++) {
+                Vertex child = vertex.childAt(slot);
+                if (child == null) {
+                    continue;
+                }
+                if (stackSize == vertices.length) {
+                    vertices = Arrays.copyOf(vertices, 2 * stackSize);
+                    depths = Arrays.copyOf(depths, 2 * stackSize);
+                }
+                vertices[stackSize] = child;
+                depths[stackSize++] = depth + 1;
             }
         }
-        return currVertex.size;
-    }
 
-    @Override @Nullable
-    public String nextString(String element, int k) {
-        if(k < 0) {
-            throw new IllegalArgumentException("Only not negative k!!");
+        int maxDepth = depthHistogram.length - 1;
+        while (maxDepth > 0 && depthHistogram[maxDepth] == 0) {
+            maxDepth--;
         }
-        if (!contains(element) && k == 0) {
-            return null;
-        } else if (k == 0) {
-            return element;
-        } else if (contains(element)) {
-            int n = findNumString(element);
-            return kStatistic(n + k);
-        } else {
-            add(element);
-            int n = findNumString(element);
-            String result = kStatistic(n + k);
-            remove(element);
-            return result;
+        int maxBranching = branchingHistogram.length - 1;
+        while (maxBranching > 0 && branchingHistogram[maxBranching] == 0) {
+            maxBranching--;
         }
+        return new TrieStats(vertexCount, finalCount, sparseCount, denseCount,
+                Arrays.copyOf(depthHistogram, maxDepth + 1), Arrays.copyOf(branchingHistogram, maxBranching + 1),
+                sparseBytes, denseBytes);
     }
 
+    @Override
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        Vertex currVertex = find(prefix);
+        return currVertex == null ? 0 : currVertex.size;
+    }
 
-    private String kStatistic(int k) {
-        StringBuilder resultStrBuilder = new StringBuilder();
-        Vertex currVertex = root;
-        if (this.contains("")) {
-            k--;
+    /**
+     * Reads the chars in place and allocates nothing
+     */
+    @Override
+    public int howManyStartsWithPrefix(@NotNull CharSequence prefix) {
+        Vertex currVertex = find(prefix);
+        return currVertex == null ? 0 : currVertex.size;
+    }
+
+    /**
+     * Reads the array in place and allocates nothing
+     */
+    @Override
+    public int howManyStartsWithPrefix(@NotNull char[] chars, int offset, int length) {
+        Vertex currVertex = find(chars, offset, length);
+        return currVertex == null ? 0 : currVertex.size;
+    }
+
+    /**
+     * The batch is walked in sorted order, so a prefix shared by several strings is passed once.
+     * Expected complexity: O(total length of elements) for a sorted batch, plus sorting otherwise
+     */
+    @Override
+    @NotNull
+    public BitSet containsAll(@NotNull String[] elements) {
+        Vertex[] found = findAll(elements);
+        BitSet result = new BitSet(elements.length);
+        for (int i = 0; i < found.length; i++) {
+            if (found[i] != null && found[i].isFinal) {
+                result.set(i);
+            }
         }
-        while (k != 0) {
-            char newSymbol = '\0';
+        return result;
+    }
 
-            for (Map.Entry<Character, Vertex> elem : currVertex.nextVertex.entrySet()) {
-                Vertex childVertex = elem.getValue();
-                if (childVertex.size < k) {
-                    k -= childVertex.size;
-                } else {
-                    if (childVertex.isFinal) {
-                        k--;
-                    }
-                    newSymbol = elem.getKey();
+    /**
+     * The batch is walked in sorted order, so a prefix shared by several strings is passed once.
+     * Expected complexity: O(total length of prefixes) for a sorted batch, plus sorting otherwise
+     */
+    @Override
+    @NotNull
+    public int[] countPrefixes(@NotNull List<String> prefixes) {
+        Vertex[] found = findAll(prefixes.toArray(new String[0]));
+        int[] result = new int[found.length];
+        for (int i = 0; i < found.length; i++) {
+            result[i] = found[i] == null ? 0 : found[i].size;
+        }
+        return result;
+    }
+
+    /**
+     * Vertices of the given strings, null if there is no such path in the trie.
+     * The strings are visited in sorted order, each one continues from the deepest vertex
+     * of its common prefix with the previous one
+     */
+    private Vertex[] findAll(String[] strings) {
+        Integer[] order = new Integer[strings.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        if (!isSorted(strings)) {
+            Arrays.sort(order, (first, second) -> strings[first].compareTo(strings[second]));
+        }
+        Vertex[] found = new Vertex[strings.length];
+        Vertex[] stack = new Vertex[16];
+        stack[0] = root;
+        int depth = 0;
+        String previous = "";
+        for (int index : order) {
+            String string = strings[index];
+            int common = 0;
+            while (common < depth && common < string.length() && string.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            depth = common;
+            while (depth < string.length()) {
+                Vertex child = stack[depth].move(string.charAt(depth));
+                if (child == null) {
                     break;
                 }
+                if (depth + 1 == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stack.length);
+                }
+                stack[++depth] = child;
             }
-            if (newSymbol == '\0') {
-                break;
+            found[index] = depth == string.length() ? stack[depth] : null;
+            previous = string;
+        }
+        return found;
+    }
+
+    private static boolean isSorted(String[] strings) {
+        for (int i = 1; i < strings.length; i++) {
+            if (strings[i - 1].compareTo(strings[i]) > 0) {
+                return false;
             }
-            resultStrBuilder.append(newSymbol);
-            currVertex = currVertex.move(newSymbol);
         }
-        return resultStrBuilder.toString();
+        return true;
     }
 
+    /**
+     * Strings within Levenshtein distance maxDistance of the query in lexicographic order.
+     * A row of the edit distance table is computed per vertex from the row of its parent,
+     * subtrees where every cell of the row exceeds maxDistance are skipped.
+     * Expected complexity: O(|query| * number of visited vertices)
+     *
+     * @param limit maximal number of strings to return
+     */
+    @NotNull
+    public List<String> fuzzySearch(@NotNull String query, int maxDistance, int limit) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Only not negative maxDistance!!");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Only not negative limit!!");
+        }
+        List<String> result = new ArrayList<>();
+        int columns = query.length() + 1;
+        int[][] rows = new int[16][];
+        Vertex[] vertices = new Vertex[16];
+        int[] nextSlots = new int[16];
+        StringBuilder current = new StringBuilder();
 
-    private int findNumString(String element) {
-        if (!contains(element)) {
-            return 0;
+        rows[0] = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
         }
-        int num = 1;
-        Vertex currVertex = root;
-        for (char c : element.toCharArray()) {
-            if (currVertex.isFinal) {
-                num++;
+        vertices[0] = root;
+        int depth = 1;
+        if (root.isFinal && rows[0][query.length()] <= maxDistance && limit > 0) {
+            result.add("");
+        }
+        while (depth > 0 && result.size() < limit) {
+            Vertex currVertex = vertices[depth - 1];
+            int slot = nextSlots[depth - 1];
+            while (slot < currVertex.slotCount() && currVertex.childAt(slot) == null) {
+                slot++;
             }
-            for (Map.Entry<Character, Vertex> elem : currVertex.nextVertex.entrySet()) {
-                char cLower = elem.getKey();
-                if (cLower >= c) {
-                    break;
+            if (slot == currVertex.slotCount()) {
+                vertices[--depth] = null;
+                if (depth > 0) {
+                    current.setLength(current.length() - 1);
                 }
-                if (currVertex.move(cLower) == null) {
-                    continue;
-                }
-                num += currVertex.move(cLower).size;
+                continue;
+            }
+            nextSlots[depth - 1] = slot + 1;
+            Vertex child = currVertex.childAt(slot);
+            char c = currVertex.keyAt(slot);
+
+            if (depth == rows.length) {
+                rows = Arrays.copyOf(rows, 2 * depth);
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+                nextSlots = Arrays.copyOf(nextSlots, 2 * depth);
+            }
+            if (rows[depth] == null) {
+                rows[depth] = new int[columns];
             }
+            int[] previousRow = rows[depth - 1];
+            int[] row = rows[depth];
+            row[0] = previousRow[0] + 1;
+            int rowMin = row[0];
+            for (int j = 1; j < columns; j++) {
+                int replace = previousRow[j - 1] + (query.charAt(j - 1) == c ? 0 : 1);
+                row[j] = Math.min(replace, Math.min(row[j - 1], previousRow[j]) + 1);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > maxDistance) {
+                continue;
+            }
+
+            current.append(c);
+            if (child.isFinal && row[query.length()] <= maxDistance) {
+                result.add(current.toString());
+            }
+            vertices[depth] = child;
+            nextSlots[depth] = 0;
+            depth++;
+        }
+        return result;
+    }
+
+    @Override
+    @NotNull
+    Walker walker() {
+        return new VertexWalker();
+    }
+
+    /**
+     * Children are addressed by slots, empty slots of dense vertices are skipped
+     */
+    private class VertexWalker extends Walker {
+        private Vertex[] vertices = new Vertex[16];
+        private int depth = 1;
+
+        private VertexWalker() {
+            vertices[0] = root;
+        }
+
+        private Vertex top() {
+            return vertices[depth - 1];
+        }
+
+        private int slotOrNone(Vertex vertex, int slot) {
+            return slot < vertex.slotCount() ? slot : NO_CHILD;
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        boolean isFinal() {
+            return top().isFinal;
+        }
+
+        @Override
+        int size() {
+            return top().size;
+        }
+
+        @Override
+        int firstChild() {
+            Vertex vertex = top();
+            return slotOrNone(vertex, vertex.skipEmpty(0));
+        }
+
+        @Override
+        int nextChild(int child) {
+            Vertex vertex = top();
+            return slotOrNone(vertex, vertex.skipEmpty(child + 1));
+        }
+
+        @Override
+        int childFrom(char c) {
+            Vertex vertex = top();
+            return slotOrNone(vertex, vertex.skipEmpty(vertex.slotFrom(c)));
+        }
+
+        @Override
+        int childSize(int child) {
+            return top().childAt(child).size;
+        }
+
+        @Override
+        char labelAt(int child, int i) {
+            return top().keyAt(child);
+        }
+
+        @Override
+        void push(int child) {
+            Vertex vertex = top().childAt(child);
+            if (depth == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * depth);
+            }
+            vertices[depth++] = vertex;
+        }
 
-            currVertex = currVertex.move(c);
+        @Override
+        int pop() {
+            vertices[--depth] = null;
+            return 1;
         }
-        return num;
     }
 }
@@ -0,0 +1,370 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map from strings to values kept in the final vertices of a trie, so no separate map of values is needed.
+ * Keys may contain any chars, entries are iterated in lexicographic order of keys.
+ * Keys and subtree sizes are kept by a {@link TrieImpl} whose vertices also hold the values,
+ * so counting keys with a prefix is O(|prefix|).
+ * Iterators of the map and of its views support remove() and throw ConcurrentModificationException
+ * if the map is changed otherwise. Null keys are not allowed, null values are
+ */
+public class TrieMap<V> extends AbstractMap<String, V> {
+
+    private static class ValueVertex extends TrieImpl.Vertex {
+        private Object value;
+    }
+
+    private static class ValueTrie extends TrieImpl {
+        private ValueTrie() {
+            super(new ValueVertex(), codePoint -> true);
+        }
+
+        @Override
+        @NotNull
+        Vertex newVertex() {
+            return new ValueVertex();
+        }
+    }
+
+    private ValueTrie trie = new ValueTrie();
+
+    // number of changes of the key set, iterators compare it to detect changes they did not make
+    private int modCount;
+
+    private ValueVertex find(String key) {
+        ValueVertex vertex = (ValueVertex) trie.find(key);
+        return vertex != null && vertex.isFinal ? vertex : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOf(ValueVertex vertex) {
+        return (V) vertex.value;
+    }
+
+    /**
+     * Expected complexity: O(|key|)
+     */
+    @Override
+    public V get(Object key) {
+        ValueVertex vertex = find((String) key);
+        return vertex == null ? null : valueOf(vertex);
+    }
+
+    /**
+     * Expected complexity: O(|key|)
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return find((String) key) != null;
+    }
+
+    /**
+     * Expected complexity: O(|key|)
+     */
+    @Override
+    public V put(@NotNull String key, V value) {
+        int sizeBefore = trie.size();
+        ValueVertex vertex = (ValueVertex) Objects.requireNonNull(trie.insert(key));
+        V previous = null;
+        if (trie.size() == sizeBefore) {
+            previous = valueOf(vertex);
+        } else {
+            modCount++;
+        }
+        vertex.value = value;
+        return previous;
+    }
+
+    /**
+     * Expected complexity: O(|key|)
+     */
+    @Override
+    public V remove(Object key) {
+        ValueVertex vertex = (ValueVertex) trie.delete((String) key);
+        if (vertex == null) {
+            return null;
+        }
+        modCount++;
+        V previous = valueOf(vertex);
+        vertex.value = null;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public void clear() {
+        trie = new ValueTrie();
+        modCount++;
+    }
+
+    /**
+     * Expected complexity: O(|prefix|)
+     */
+    public int howManyStartsWithPrefix(@NotNull String prefix) {
+        return trie.howManyStartsWithPrefix(prefix);
+    }
+
+    /**
+     * View of the entries with keys starting with the prefix, changes of the view and of this map are seen by each other.
+     * size() of the view is O(|prefix|), put() of a key without the prefix throws IllegalArgumentException
+     */
+    @NotNull
+    public Map<String, V> prefixMap(@NotNull String prefix) {
+        return new PrefixMap(prefix);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> keySet() {
+        return new KeySet("");
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new EntrySet("");
+    }
+
+    private class PrefixMap extends AbstractMap<String, V> {
+        private final String prefix;
+
+        private PrefixMap(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private boolean inRange(Object key) {
+            return key instanceof String && ((String) key).startsWith(prefix);
+        }
+
+        @Override
+        public V get(Object key) {
+            return inRange(key) ? TrieMap.this.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return inRange(key) && TrieMap.this.containsKey(key);
+        }
+
+        @Override
+        public V put(String key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("Key should start with " + prefix);
+            }
+            return TrieMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRange(key) ? TrieMap.this.remove(key) : null;
+        }
+
+        @Override
+        public int size() {
+            return howManyStartsWithPrefix(prefix);
+        }
+
+        @Override
+        public void clear() {
+            if (prefix.isEmpty()) {
+                TrieMap.this.clear();
+            } else if (trie.deletePrefix(prefix) > 0) {
+                modCount++;
+            }
+        }
+
+        @NotNull
+        @Override
+        public Set<String> keySet() {
+            return new KeySet(prefix);
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new EntrySet(prefix);
+        }
+    }
+
+    /**
+     * contains and remove are O(|key|) instead of the walk over the entries of AbstractMap.keySet()
+     */
+    private class KeySet extends AbstractSet<String> {
+        private final String prefix;
+
+        private KeySet(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @NotNull
+        @Override
+        public Iterator<String> iterator() {
+            EntryIterator entries = new EntryIterator(prefix);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return howManyStartsWithPrefix(prefix);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key instanceof String && ((String) key).startsWith(prefix) && containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key) {
+            if (!contains(key)) {
+                return false;
+            }
+            TrieMap.this.remove(key);
+            return true;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, V>> {
+        private final String prefix;
+
+        private EntrySet(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator(prefix);
+        }
+
+        @Override
+        public int size() {
+            return howManyStartsWithPrefix(prefix);
+        }
+    }
+
+    /**
+     * Walks the keys with the trie's prefixIterator and looks up the vertex of each of them.
+     * After remove() the walk is started again after the removed key, as the old one is not valid
+     */
+    private class EntryIterator implements Iterator<Entry<String, V>> {
+        private final String prefix;
+        private Iterator<String> keys;
+        private String lastKey;
+        private int expectedModCount = modCount;
+
+        private EntryIterator(String prefix) {
+            this.prefix = prefix;
+            keys = trie.prefixIterator(prefix);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return keys.hasNext();
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!keys.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = keys.next();
+            return new VertexEntry(lastKey, find(lastKey));
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            TrieMap.this.remove(lastKey);
+            expectedModCount = modCount;
+            keys = trie.prefixIterator(prefix, lastKey, Integer.MAX_VALUE);
+            lastKey = null;
+        }
+    }
+
+    /**
+     * Entry backed by its vertex, setValue() writes to the map
+     */
+    private class VertexEntry implements Entry<String, V> {
+        private final String key;
+        private final ValueVertex vertex;
+
+        private VertexEntry(String key, ValueVertex vertex) {
+            this.key = key;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return valueOf(vertex);
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = valueOf(vertex);
+            vertex.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
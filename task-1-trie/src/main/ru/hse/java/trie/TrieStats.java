@@ -0,0 +1,126 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Shape and estimated memory of a trie at the moment of {@link TrieImpl#stats()}.
+ * Byte estimates assume a 64-bit JVM with compressed references: 12 byte object headers,
+ * 16 byte array headers, 4 byte references and 8 byte alignment
+ */
+public class TrieStats {
+    private final int vertexCount;
+    private final int finalCount;
+    private final int sparseCount;
+    private final int denseCount;
+    private final int[] depthHistogram;
+    private final int[] branchingHistogram;
+    private final long sparseBytes;
+    private final long denseBytes;
+
+    TrieStats(int vertexCount, int finalCount, int sparseCount, int denseCount,
+              int[] depthHistogram, int[] branchingHistogram, long sparseBytes, long denseBytes) {
+        this.vertexCount = vertexCount;
+        this.finalCount = finalCount;
+        this.sparseCount = sparseCount;
+        this.denseCount = denseCount;
+        this.depthHistogram = depthHistogram;
+        this.branchingHistogram = branchingHistogram;
+        this.sparseBytes = sparseBytes;
+        this.denseBytes = denseBytes;
+    }
+
+    static long objectBytes(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long arrayBytes(int length, int elementBytes) {
+        return objectBytes(16L + (long) length * elementBytes);
+    }
+
+    /**
+     * Number of vertices including the root
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Number of vertices where strings end, the size of the trie
+     */
+    public int finalCount() {
+        return finalCount;
+    }
+
+    /**
+     * Number of vertices with children in sorted arrays of keys
+     */
+    public int sparseCount() {
+        return sparseCount;
+    }
+
+    /**
+     * Number of vertices with children in arrays indexed by chars
+     */
+    public int denseCount() {
+        return denseCount;
+    }
+
+    /**
+     * Element i is the number of vertices at depth i, the root is at depth 0
+     */
+    @NotNull
+    public int[] depthHistogram() {
+        return depthHistogram.clone();
+    }
+
+    /**
+     * Element i is the number of vertices with i children
+     */
+    @NotNull
+    public int[] branchingHistogram() {
+        return branchingHistogram.clone();
+    }
+
+    /**
+     * Estimated bytes of sparse vertices with their arrays
+     */
+    public long sparseBytes() {
+        return sparseBytes;
+    }
+
+    /**
+     * Estimated bytes of dense vertices with their arrays
+     */
+    public long denseBytes() {
+        return denseBytes;
+    }
+
+    /**
+     * Estimated bytes retained by the vertices of the trie
+     */
+    public long estimatedBytes() {
+        return sparseBytes + denseBytes;
+    }
+
+    /**
+     * Estimated bytes of the same vertices in {@link ArrayTrieImpl}, which spends 15 bytes of its arrays per vertex
+     */
+    public long estimatedArrayTrieBytes() {
+        return 5 * 16L + 15L * vertexCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TrieStats{vertices=" + vertexCount
+                + ", final=" + finalCount
+                + ", sparse=" + sparseCount
+                + ", dense=" + denseCount
+                + ", bytes=" + estimatedBytes()
+                + ", arrayTrieBytes=" + estimatedArrayTrieBytes()
+                + ", depths=" + Arrays.toString(depthHistogram)
+                + ", branching=" + Arrays.toString(branchingHistogram)
+                + "}";
+    }
+}
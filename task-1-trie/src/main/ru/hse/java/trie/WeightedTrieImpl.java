@@ -0,0 +1,162 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Trie where every string has a score, for autocompletion by the most popular strings.
+ * As subtree sizes answer howManyStartsWithPrefix, the maximal score of a subtree is cached in its vertex,
+ * so topK visits only subtrees which may hold one of the answers instead of the whole subtree of the prefix.
+ * Everything else is done by {@link TrieImpl}, the caches are updated along the path it leaves after add and remove
+ */
+public class WeightedTrieImpl extends TrieImpl {
+
+    // by descending score, negating the score would overflow for Long.MIN_VALUE
+    private static final Comparator<Candidate> BY_SCORE = ((Comparator<Candidate>) (first, second) ->
+            Long.compare(second.score, first.score))
+            .thenComparing(candidate -> candidate.string)
+            .thenComparing(candidate -> candidate.vertex != null);
+
+    private static class WeightedVertex extends Vertex {
+        private long score;
+        // maximal score of the strings in the subtree, Long.MIN_VALUE if there are none
+        private long maxScore = Long.MIN_VALUE;
+
+        private void updateMaxScore() {
+            maxScore = isFinal ? score : Long.MIN_VALUE;
+            for (int slot = 0; slot < slotCount(); slot++) {
+                WeightedVertex child = (WeightedVertex) childAt(slot);
+                if (child != null) {
+                    maxScore = Math.max(maxScore, child.maxScore);
+                }
+            }
+        }
+    }
+
+    /**
+     * Element of the queue of topK: either a string of the answer or a subtree not visited yet
+     */
+    private static class Candidate {
+        private final String string;
+        private final WeightedVertex vertex;
+        private final long score;
+
+        private Candidate(String string, WeightedVertex vertex, long score) {
+            this.string = string;
+            this.vertex = vertex;
+            this.score = score;
+        }
+    }
+
+    public WeightedTrieImpl() {
+        super(new WeightedVertex());
+    }
+
+    @Override
+    @NotNull
+    Vertex newVertex() {
+        return new WeightedVertex();
+    }
+
+    /**
+     * Updates the caches of path[0..depth] bottom-up
+     */
+    private void updateMaxScores(int depth) {
+        for (int i = depth; i >= 0; i--) {
+            ((WeightedVertex) path[i]).updateMaxScore();
+        }
+    }
+
+    /**
+     * Adds a string with score 0, the score of a present string is not changed
+     */
+    @Override
+    public boolean add(@NotNull CharSequence element) {
+        int sizeBefore = size();
+        WeightedVertex vertex = (WeightedVertex) insert(element);
+        if (vertex == null || size() == sizeBefore) {
+            return false;
+        }
+        vertex.score = 0;
+        updateMaxScores(element.length());
+        return true;
+    }
+
+    /**
+     * Adds the string or changes its score.
+     * Expected complexity: O(|element| * alphabet size)
+     *
+     * @return <tt>true</tt> if this set did not already contain the specified element
+     */
+    public boolean add(@NotNull String element, long score) {
+        int sizeBefore = size();
+        WeightedVertex vertex = (WeightedVertex) insert(element);
+        if (vertex == null) {
+            return false;
+        }
+        vertex.score = score;
+        updateMaxScores(element.length());
+        return size() != sizeBefore;
+    }
+
+    /**
+     * Score of the string or null if it is not in the trie
+     */
+    @Nullable
+    public Long getScore(@NotNull String element) {
+        WeightedVertex vertex = (WeightedVertex) find(element);
+        return vertex != null && vertex.isFinal ? vertex.score : null;
+    }
+
+    @Override
+    public boolean remove(@NotNull String element) {
+        if (delete(element) == null) {
+            return false;
+        }
+        // the cut off vertices of the path are updated too, nothing reaches them anymore
+        updateMaxScores(element.length());
+        return true;
+    }
+
+    /**
+     * At most k strings starting with the prefix with the highest scores,
+     * by descending score, strings with equal scores in lexicographic order.
+     * Expected complexity: O(|prefix| + k * trie depth * alphabet size * log), independent of the subtree size
+     */
+    @NotNull
+    public List<String> topK(@NotNull String prefix, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Only not negative k!!");
+        }
+        List<String> result = new ArrayList<>();
+        WeightedVertex base = (WeightedVertex) find(prefix);
+        if (base == null || base.size == 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BY_SCORE);
+        queue.add(new Candidate(prefix, base, base.maxScore));
+        while (result.size() < k && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            WeightedVertex vertex = candidate.vertex;
+            if (vertex == null) {
+                result.add(candidate.string);
+                continue;
+            }
+            if (vertex.isFinal) {
+                queue.add(new Candidate(candidate.string, null, vertex.score));
+            }
+            for (int slot = 0; slot < vertex.slotCount(); slot++) {
+                WeightedVertex child = (WeightedVertex) vertex.childAt(slot);
+                if (child != null) {
+                    queue.add(new Candidate(candidate.string + vertex.keyAt(slot), child, child.maxScore));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ArrayTrieImplTest extends TrieImplTest {
+
+    @Override
+    protected Trie createTrie() {
+        return new ArrayTrieImpl(1);
+    }
+
+    @Test
+    public void testRemovedVerticesReused() {
+        ArrayTrieImpl arrayTrie = new ArrayTrieImpl();
+        arrayTrie.add("Moscow");
+        arrayTrie.add("Petersburg");
+        int allocated = arrayTrie.allocatedVertices();
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(arrayTrie.remove("Petersburg"));
+            Assertions.assertTrue(arrayTrie.add("Pskov"));
+            Assertions.assertTrue(arrayTrie.remove("Pskov"));
+            Assertions.assertTrue(arrayTrie.add("Petersburg"));
+        }
+
+        Assertions.assertEquals(allocated, arrayTrie.allocatedVertices());
+        Assertions.assertEquals(2, arrayTrie.size());
+        Assertions.assertTrue(arrayTrie.contains("Moscow"));
+        Assertions.assertTrue(arrayTrie.contains("Petersburg"));
+        Assertions.assertFalse(arrayTrie.contains("Pskov"));
+    }
+
+    @Test
+    public void testDenseVertexShrinksAndGrows() {
+        ArrayTrieImpl arrayTrie = new ArrayTrieImpl();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < Alphabet.SIZE; i++) {
+                arrayTrie.add("x" + Alphabet.charOf(i));
+            }
+            for (int i = 0; i < Alphabet.SIZE - 2; i++) {
+                Assertions.assertTrue(arrayTrie.remove("x" + Alphabet.charOf(i)));
+                Assertions.assertFalse(arrayTrie.contains("x" + Alphabet.charOf(i)));
+            }
+        }
+        Assertions.assertFalse(arrayTrie.contains("x-"));
+        Assertions.assertEquals(2, arrayTrie.howManyStartsWithPrefix("x"));
+        Assertions.assertEquals(List.of("xy", "xz"), arrayTrie.withPrefix("").collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,142 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentTrieImplTest extends TrieImplTest {
+
+    private final int cntThreads = 4;
+    private final int cntConcurrentStress = 20000;
+
+    @Override
+    protected Trie createTrie() {
+        return new ConcurrentTrieImpl();
+    }
+
+    private static String randomString(Random rand) {
+        StringBuilder strBuilder = new StringBuilder();
+        int length = rand.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            strBuilder.append(Alphabet.charOf(rand.nextInt(6)));
+        }
+        return strBuilder.toString();
+    }
+
+    private void runInParallel(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentAddSameStrings() throws Exception {
+        Set<String> expected = new TreeSet<>();
+        Random rand = new Random(3);
+        List<String> strings = new ArrayList<>();
+        for (int cnt = 0; cnt < cntConcurrentStress; cnt++) {
+            strings.add(randomString(rand));
+            expected.add(strings.get(cnt));
+        }
+
+        int[] added = new int[cntThreads];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            int id = thread;
+            tasks.add(() -> {
+                for (String element : strings) {
+                    if (trie.add(element)) {
+                        added[id]++;
+                    }
+                }
+            });
+        }
+        runInParallel(tasks);
+
+        int addedTotal = 0;
+        for (int cnt : added) {
+            addedTotal += cnt;
+        }
+        Assertions.assertEquals(expected.size(), addedTotal);
+        Assertions.assertEquals(expected.size(), trie.size());
+        for (String element : expected) {
+            Assertions.assertTrue(trie.contains(element));
+        }
+    }
+
+    @Test
+    public void testConcurrentAddRemoveWithReaders() throws Exception {
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Runnable> tasks = new ArrayList<>();
+        List<Set<String>> expected = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            Set<String> kept = new TreeSet<>();
+            expected.add(kept);
+            // strings of different writers differ in the last char, so writers share the subtrees
+            char own = Alphabet.charOf(30 + thread);
+            Random rand = new Random(thread);
+            tasks.add(() -> {
+                Set<String> added = new TreeSet<>();
+                for (int cnt = 0; cnt < cntConcurrentStress; cnt++) {
+                    String element = randomString(rand) + own;
+                    if (rand.nextInt(3) == 0) {
+                        Assertions.assertEquals(added.remove(element), trie.remove(element));
+                    } else {
+                        Assertions.assertEquals(added.add(element), trie.add(element));
+                    }
+                }
+                kept.addAll(added);
+            });
+        }
+        Runnable reader = () -> {
+            Random rand = new Random(100);
+            while (isWriting.get()) {
+                String prefix = randomString(rand);
+                int count = trie.howManyStartsWithPrefix(prefix);
+                Assertions.assertTrue(count >= 0);
+                trie.contains(prefix);
+                trie.nextString(prefix, rand.nextInt(5));
+            }
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstReader = readers.submit(reader);
+            Future<?> secondReader = readers.submit(reader);
+            runInParallel(tasks);
+            isWriting.set(false);
+            firstReader.get();
+            secondReader.get();
+        } finally {
+            readers.shutdownNow();
+        }
+
+        TreeSet<String> all = new TreeSet<>();
+        expected.forEach(all::addAll);
+        Assertions.assertEquals(all.size(), trie.size());
+        for (String element : all) {
+            Assertions.assertTrue(trie.contains(element));
+            Assertions.assertEquals(all.subSet(element, element + Character.MAX_VALUE).size(),
+                    trie.howManyStartsWithPrefix(element));
+        }
+        Assertions.assertEquals(all.first(), trie.nextString("", 1));
+    }
+}
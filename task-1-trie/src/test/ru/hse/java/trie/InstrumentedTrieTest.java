@@ -0,0 +1,53 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class InstrumentedTrieTest extends TrieImplTest {
+
+    @Override
+    protected Trie createTrie() {
+        return new InstrumentedTrie(new TrieImpl());
+    }
+
+    @Test
+    public void testCounters() {
+        InstrumentedTrie instrumented = new InstrumentedTrie(new TrieImpl());
+        Assertions.assertTrue(instrumented.add("abc"));
+        Assertions.assertFalse(instrumented.add(new StringBuilder("abc")));
+        Assertions.assertTrue(instrumented.add("abd".toCharArray(), 0, 3));
+        Assertions.assertTrue(instrumented.contains("abc"));
+        Assertions.assertFalse(instrumented.contains("ab"));
+        Assertions.assertTrue(instrumented.remove("abd"));
+        Assertions.assertEquals(1, instrumented.howManyStartsWithPrefix("ab"));
+
+        Assertions.assertEquals(3, instrumented.count(InstrumentedTrie.Operation.ADD));
+        Assertions.assertEquals(2, instrumented.count(InstrumentedTrie.Operation.CONTAINS));
+        Assertions.assertEquals(1, instrumented.count(InstrumentedTrie.Operation.REMOVE));
+        Assertions.assertEquals(1, instrumented.unwrap().size());
+
+        instrumented.reset();
+        for (InstrumentedTrie.Operation operation : InstrumentedTrie.Operation.values()) {
+            Assertions.assertEquals(0, instrumented.count(operation));
+            Assertions.assertEquals(0, instrumented.histogram(operation).percentileNanos(0.5));
+        }
+    }
+
+    @Test
+    public void testHistogram() {
+        InstrumentedTrie instrumented = new InstrumentedTrie(new TrieImpl());
+        for (int i = 0; i < 1000; i++) {
+            instrumented.contains("abc");
+        }
+        InstrumentedTrie.LatencyHistogram histogram = instrumented.histogram(InstrumentedTrie.Operation.CONTAINS);
+        Assertions.assertEquals(1000, histogram.count());
+        Assertions.assertEquals(1000, Arrays.stream(histogram.buckets()).sum());
+        long median = histogram.percentileNanos(0.5);
+        long max = histogram.percentileNanos(1);
+        Assertions.assertTrue(median <= max);
+        Assertions.assertTrue(max > 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(1.5));
+    }
+}
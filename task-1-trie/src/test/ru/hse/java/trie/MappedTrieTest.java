@@ -0,0 +1,132 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class MappedTrieTest {
+
+    private final int cntStress = 50000;
+    private final int seedStress = 38371;
+
+    @TempDir
+    Path directory;
+
+    private MappedTrie snapshot(Trie trie) throws IOException {
+        Path file = directory.resolve("trie.bin");
+        MappedTrie.write(trie, file);
+        return MappedTrie.open(file);
+    }
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testSomeStrings() throws IOException {
+        Trie source = new TrieImpl();
+        for (String string : List.of("Moscow", "MoscowNorth", "Mostar", "Mosul", "Paris", "")) {
+            source.add(string);
+        }
+        MappedTrie trie = snapshot(source);
+
+        Assertions.assertEquals(6, trie.size());
+        Assertions.assertTrue(trie.contains("Mostar"));
+        Assertions.assertTrue(trie.contains(""));
+        Assertions.assertFalse(trie.contains("Mos"));
+        Assertions.assertFalse(trie.contains("Berlin"));
+        Assertions.assertEquals(4, trie.howManyStartsWithPrefix("Mos"));
+        Assertions.assertEquals(0, trie.howManyStartsWithPrefix("Mp"));
+        Assertions.assertEquals("Mostar", trie.nextString("MoscowNorth", 1));
+        Assertions.assertEquals("Paris", trie.nextString("Mosul", 1));
+        Assertions.assertNull(trie.nextString("Paris", 1));
+        Assertions.assertEquals(List.of("MoscowNorth", "Mostar"), toList(trie.prefixIterator("Mos", "Moscow", 2)));
+        Assertions.assertEquals(List.of("", "Moscow", "MoscowNorth", "Mostar", "Mosul", "Paris"),
+                trie.withPrefix("").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        MappedTrie trie = snapshot(new TrieImpl());
+
+        Assertions.assertEquals(0, trie.size());
+        Assertions.assertFalse(trie.contains(""));
+        Assertions.assertEquals(0, trie.howManyStartsWithPrefix(""));
+        Assertions.assertNull(trie.nextString("", 1));
+        Assertions.assertFalse(trie.prefixIterator("").hasNext());
+    }
+
+    @Test
+    public void testImmutable() throws IOException {
+        Trie source = new TrieImpl();
+        source.add("word");
+        MappedTrie trie = snapshot(source);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> trie.add("other"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> trie.remove("word"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.nextString("word", -1));
+    }
+
+    @Test
+    public void testWriteUnsorted() {
+        Path file = directory.resolve("trie.bin");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> MappedTrie.write(List.of("b", "a").iterator(), file));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> MappedTrie.write(List.of("ab", "a").iterator(), file));
+    }
+
+    @Test
+    public void testNotSnapshot() throws IOException {
+        Path file = directory.resolve("trie.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MappedTrie.open(file));
+    }
+
+    @Test
+    public void testStressSnapshot() throws IOException {
+        Random rand = new Random(seedStress);
+        Trie source = new TrieImpl();
+        TreeSet<String> corrTrie = new TreeSet<>();
+        for (int cnt = 0; cnt < cntStress; cnt++) {
+            String string = randomString(rand);
+            source.add(string);
+            corrTrie.add(string);
+        }
+        MappedTrie trie = snapshot(source);
+
+        Assertions.assertEquals(corrTrie.size(), trie.size());
+        Assertions.assertEquals(new ArrayList<>(corrTrie), toList(trie.prefixIterator("")));
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            String string = randomString(rand);
+            Assertions.assertEquals(corrTrie.contains(string), trie.contains(string));
+            Assertions.assertEquals(source.howManyStartsWithPrefix(string), trie.howManyStartsWithPrefix(string));
+            int k = rand.nextInt(5);
+            Assertions.assertEquals(source.nextString(string, k), trie.nextString(string, k));
+            String prefix = string.substring(0, rand.nextInt(string.length() + 1));
+            Assertions.assertEquals(toList(source.prefixIterator(prefix, string, 10)),
+                    toList(trie.prefixIterator(prefix, string, 10)));
+        }
+    }
+
+    private static String randomString(Random rand) {
+        StringBuilder builder = new StringBuilder();
+        int length = rand.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + rand.nextInt(4)));
+        }
+        return builder.toString();
+    }
+}
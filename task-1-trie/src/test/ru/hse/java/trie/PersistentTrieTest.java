@@ -0,0 +1,141 @@
+package ru.hse.java.trie;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class PersistentTrieTest extends TrieImplTest {
+
+    /**
+     * Mutable trie replacing its version on every update, so the common tests run on persistent tries
+     */
+    private static class Versions implements Trie {
+        private PersistentTrie current = PersistentTrie.empty();
+
+        @Override
+        public boolean add(@NotNull String element) {
+            PersistentTrie next = current.plus(element);
+            boolean changed = next != current;
+            current = next;
+            return changed;
+        }
+
+        @Override
+        public boolean contains(@NotNull String element) {
+            return current.contains(element);
+        }
+
+        @Override
+        public boolean remove(@NotNull String element) {
+            PersistentTrie next = current.minus(element);
+            boolean changed = next != current;
+            current = next;
+            return changed;
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public int howManyStartsWithPrefix(@NotNull String prefix) {
+            return current.howManyStartsWithPrefix(prefix);
+        }
+
+        @Override
+        public @Nullable String nextString(String element, int k) {
+            return current.nextString(element, k);
+        }
+
+        @Override
+        public @NotNull Iterator<String> prefixIterator(@NotNull String prefix, @Nullable String startAfter, int limit) {
+            return current.prefixIterator(prefix, startAfter, limit);
+        }
+    }
+
+    @Override
+    protected Trie createTrie() {
+        return new Versions();
+    }
+
+    @Test
+    public void testVersionsAreUnchanged() {
+        PersistentTrie empty = PersistentTrie.empty();
+        PersistentTrie first = empty.plus("Moscow").plus("Mostar").plus("");
+        PersistentTrie second = first.minus("Moscow").plus("Mosul");
+
+        Assertions.assertEquals(0, empty.size());
+        Assertions.assertEquals(3, first.size());
+        Assertions.assertTrue(first.contains("Moscow"));
+        Assertions.assertFalse(first.contains("Mosul"));
+        Assertions.assertEquals(2, first.howManyStartsWithPrefix("Mos"));
+        Assertions.assertEquals(3, second.size());
+        Assertions.assertFalse(second.contains("Moscow"));
+        Assertions.assertEquals("Mosul", second.nextString("Mostar", 1));
+
+        Assertions.assertSame(first, first.plus("Moscow"));
+        Assertions.assertSame(first, first.plus("Moscow1"));
+        Assertions.assertSame(first, first.minus("Mos"));
+        Assertions.assertSame(empty, empty.plus("x").minus("x"));
+        Assertions.assertSame(empty, empty.plus("").minus(""));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add("Kazan"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.remove("Moscow"));
+    }
+
+    @Test
+    public void testIteratorSeesItsVersion() {
+        PersistentTrie version = PersistentTrie.empty().plus("a").plus("b").plus("c");
+        Iterator<String> iterator = version.prefixIterator("");
+        Assertions.assertEquals("a", iterator.next());
+        PersistentTrie next = version.minus("b").plus("bb");
+        Assertions.assertEquals("b", iterator.next());
+        Assertions.assertEquals("c", iterator.next());
+        Assertions.assertFalse(iterator.hasNext());
+        Assertions.assertEquals(List.of("a", "bb", "c"), toList(next.prefixIterator("")));
+    }
+
+    @Test
+    public void testStressSnapshots() {
+        Random rand = new Random(38371);
+        List<PersistentTrie> versions = new ArrayList<>();
+        List<TreeSet<String>> expected = new ArrayList<>();
+        PersistentTrie current = PersistentTrie.empty();
+        TreeSet<String> correct = new TreeSet<>();
+        for (int cnt = 0; cnt < 5000; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 4; i < 4; i++) {
+                strBuilder.append((char) ('a' + rand.nextInt(3)));
+            }
+            String element = strBuilder.toString();
+            if (rand.nextInt(3) == 0) {
+                correct.remove(element);
+                current = current.minus(element);
+            } else {
+                correct.add(element);
+                current = current.plus(element);
+            }
+            if (cnt % 50 == 0) {
+                versions.add(current);
+                expected.add(new TreeSet<>(correct));
+            }
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            Assertions.assertEquals(new ArrayList<>(expected.get(i)), toList(versions.get(i).prefixIterator("")));
+            Assertions.assertEquals(expected.get(i).size(), versions.get(i).size());
+        }
+    }
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class RadixTrieImplTest extends TrieImplTest {
+
+    @Override
+    protected Trie createTrie() {
+        return new RadixTrieImpl();
+    }
+
+    @Test
+    public void testSplitAndMergeEdges() {
+        Assertions.assertTrue(trie.add("international"));
+        Assertions.assertTrue(trie.add("internet"));
+        Assertions.assertTrue(trie.add("inter"));
+        Assertions.assertTrue(trie.add("interval"));
+
+        Assertions.assertEquals(4, trie.howManyStartsWithPrefix("in"));
+        Assertions.assertEquals(4, trie.howManyStartsWithPrefix("inter"));
+        Assertions.assertEquals(2, trie.howManyStartsWithPrefix("intern"));
+        Assertions.assertEquals(1, trie.howManyStartsWithPrefix("internatio"));
+        Assertions.assertEquals(0, trie.howManyStartsWithPrefix("internatiox"));
+        Assertions.assertFalse(trie.contains("intern"));
+        Assertions.assertFalse(trie.contains("internationals"));
+
+        Assertions.assertTrue(trie.remove("inter"));
+        Assertions.assertTrue(trie.remove("internet"));
+        Assertions.assertFalse(trie.contains("inter"));
+        Assertions.assertEquals(2, trie.howManyStartsWithPrefix("inter"));
+        Assertions.assertEquals(List.of("international"),
+                trie.withPrefix("interna").collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("international", "interval"),
+                trie.withPrefix("int").collect(Collectors.toList()));
+
+        Assertions.assertTrue(trie.remove("interval"));
+        Assertions.assertTrue(trie.add("inter"));
+        Assertions.assertEquals("international", trie.nextString("inter", 1));
+        Assertions.assertEquals("inter", trie.nextString("", 1));
+        Assertions.assertEquals(2, trie.size());
+    }
+
+    @Test
+    public void testStressSplitAndMerge() {
+        TreeSet<String> correct = new TreeSet<>();
+        Random rand = new Random(17);
+        for (int cnt = 0; cnt < 20000; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            int length = rand.nextInt(7);
+            for (int i = 0; i < length; i++) {
+                strBuilder.append(Alphabet.charOf(rand.nextInt(3)));
+            }
+            String element = strBuilder.toString();
+            if (rand.nextBoolean()) {
+                Assertions.assertEquals(correct.add(element), trie.add(element));
+            } else {
+                Assertions.assertEquals(correct.remove(element), trie.remove(element));
+            }
+
+            String prefix = element.substring(0, rand.nextInt(element.length() + 1));
+            Assertions.assertEquals(correct.subSet(prefix, prefix + Character.MAX_VALUE).size(),
+                    trie.howManyStartsWithPrefix(prefix));
+            Assertions.assertEquals(correct.higher(prefix), trie.nextString(prefix, 1));
+            Assertions.assertEquals(correct.size(), trie.size());
+        }
+        Assertions.assertEquals(new ArrayList<>(correct), trie.withPrefix("").collect(Collectors.toList()));
+    }
+}
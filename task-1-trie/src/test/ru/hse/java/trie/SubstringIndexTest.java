@@ -0,0 +1,90 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class SubstringIndexTest {
+
+    private final int cntStress = 50000;
+    private final int seedStress = 38371;
+
+    @Test
+    public void testSomeStrings() {
+        Trie trie = new TrieImpl();
+        for (String string : List.of("banana", "bandana", "ananas", "cabana", "")) {
+            trie.add(string);
+        }
+        SubstringIndex index = new SubstringIndex(trie);
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(List.of("ananas", "banana", "bandana", "cabana"), index.keysContaining("ana"));
+        Assertions.assertEquals(4, index.howManyContain("ana"));
+        // banana 2, bandana 1, ananas 2, cabana 1
+        Assertions.assertEquals(6, index.countOccurrences("ana"));
+        Assertions.assertEquals(List.of("banana", "bandana", "cabana"), index.keysContaining("ban"));
+        Assertions.assertEquals(List.of("bandana"), index.keysContaining("nda"));
+        Assertions.assertEquals(List.of(), index.keysContaining("nab"));
+        Assertions.assertEquals(0, index.howManyContain("bananas"));
+        Assertions.assertEquals(0, index.countOccurrences("x"));
+        Assertions.assertEquals(5, index.howManyContain(""));
+        Assertions.assertEquals(List.of("", "ananas", "banana", "bandana", "cabana"), index.keysContaining(""));
+        Assertions.assertEquals(6 + 7 + 6 + 6 + 5, index.countOccurrences(""));
+    }
+
+    @Test
+    public void testSnapshot() {
+        Trie trie = new TrieImpl(codePoint -> true);
+        trie.add("Молоко");
+        trie.add("ко-ко");
+        SubstringIndex index = new SubstringIndex(trie);
+        trie.add("кокос");
+
+        Assertions.assertEquals(List.of("Молоко", "ко-ко"), index.keysContaining("ко"));
+        Assertions.assertEquals(3, index.countOccurrences("ко"));
+        Assertions.assertEquals(0, new SubstringIndex(new TrieImpl()).howManyContain("a"));
+    }
+
+    @Test
+    public void testStressSubstrings() {
+        Random rand = new Random(seedStress);
+        Trie trie = new TrieImpl();
+        TreeSet<String> corrTrie = new TreeSet<>();
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            int length = rand.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                strBuilder.append((char) ('a' + rand.nextInt(4)));
+            }
+            trie.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+        SubstringIndex index = new SubstringIndex(trie);
+        Assertions.assertEquals(corrTrie.size(), index.size());
+
+        for (int cnt = 0; cnt < 300; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            int length = 1 + rand.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                strBuilder.append((char) ('a' + rand.nextInt(5)));
+            }
+            String pattern = strBuilder.toString();
+            List<String> expected = corrTrie.stream()
+                    .filter(string -> string.contains(pattern))
+                    .collect(Collectors.toList());
+            int occurrences = 0;
+            for (String string : corrTrie) {
+                for (int from = string.indexOf(pattern); from >= 0; from = string.indexOf(pattern, from + 1)) {
+                    occurrences++;
+                }
+            }
+            Assertions.assertEquals(expected, index.keysContaining(pattern));
+            Assertions.assertEquals(expected.size(), index.howManyContain(pattern));
+            Assertions.assertEquals(occurrences, index.countOccurrences(pattern));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Features only TrieImpl has, the common contract of Trie is checked by TrieImplTest,
+ * which the tests of the other implementations extend
+ */
+public class TrieImplFeaturesTest {
+
+    private TreeSet<String> corrTrie;
+    private final int cntStress = 50000;
+    private final int seedStress = 38371;
+    Random rand;
+
+    private static char getElemAlphabet(int i) {
+        return (char) (i < 26 ? 'A' + i : 'a' + i - 26);
+    }
+
+    @BeforeEach
+    void startTestStress() {
+        corrTrie = new TreeSet<>();
+        rand = new Random(seedStress);
+    }
+
+    @Test
+    public void testStressFromSorted() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 5; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(51)));
+            }
+            corrTrie.add(strBuilder.toString());
+        }
+
+        TrieImpl sequential = TrieImpl.fromSorted(corrTrie.iterator());
+        TrieImpl parallel = TrieImpl.fromSorted(new ArrayList<>(corrTrie), ForkJoinPool.commonPool());
+        for (Trie built : List.of(sequential, parallel)) {
+            Assertions.assertEquals(corrTrie.size(), built.size());
+            for (String element : corrTrie) {
+                Assertions.assertTrue(built.contains(element));
+                Assertions.assertEquals(corrTrie.subSet(element, element + Character.MAX_VALUE).size(),
+                        built.howManyStartsWithPrefix(element));
+            }
+            Assertions.assertEquals(corrTrie.first(), built.nextString("", 0));
+            Assertions.assertEquals(corrTrie.higher(corrTrie.first()), built.nextString(corrTrie.first(), 1));
+
+            Assertions.assertTrue(built.remove(corrTrie.last()));
+            Assertions.assertTrue(built.add(corrTrie.last()));
+            Assertions.assertEquals(corrTrie.size(), built.size());
+        }
+    }
+
+    @Test
+    public void testFromSortedRepeated() {
+        List<String> sorted = List.of("", "", "a", "a", "ab", "b", "b");
+        Assertions.assertEquals(4, TrieImpl.fromSorted(sorted.iterator()).size());
+        Assertions.assertEquals(4, TrieImpl.fromSorted(sorted, ForkJoinPool.commonPool()).size());
+    }
+
+    @Test
+    public void testFromSortedIncorrect() {
+        for (List<String> incorrect : List.of(List.of("b", "a"), List.of("ab", "a"), List.of("a", ""), List.of("a1"))) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> TrieImpl.fromSorted(incorrect.iterator()));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> TrieImpl.fromSorted(incorrect, ForkJoinPool.commonPool()));
+        }
+    }
+
+    @Test
+    public void testFuzzySearch() {
+        TrieImpl words = new TrieImpl();
+        for (String word : List.of("book", "books", "boot", "cook", "look", "bo", "brook", "")) {
+            words.add(word);
+        }
+
+        Assertions.assertEquals(List.of("book"), words.fuzzySearch("book", 0, 10));
+        Assertions.assertEquals(List.of("book", "books", "boot", "brook", "cook", "look"), words.fuzzySearch("book", 1, 10));
+        Assertions.assertEquals(List.of("bo", "book", "books", "boot", "brook", "cook", "look"),
+                words.fuzzySearch("book", 2, 10));
+        Assertions.assertEquals(List.of("book", "books"), words.fuzzySearch("book", 1, 2));
+        Assertions.assertEquals(List.of("", "bo"), words.fuzzySearch("b", 1, 10));
+        Assertions.assertEquals(List.of(), words.fuzzySearch("xyzw", 2, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> words.fuzzySearch("book", -1, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> words.fuzzySearch("book", 1, -1));
+    }
+
+    @Test
+    public void testStressFuzzySearch() {
+        TrieImpl words = new TrieImpl();
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 7; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            words.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+
+        for (int cnt = 0; cnt < 200; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 7; i < 7; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            String query = strBuilder.toString();
+            int maxDistance = cnt % 4;
+            List<String> expected = corrTrie.stream()
+                    .filter(element -> levenshtein(element, query) <= maxDistance)
+                    .limit(50)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, words.fuzzySearch(query, maxDistance, 50));
+        }
+    }
+
+    @Test
+    public void testStats() {
+        TrieImpl stated = new TrieImpl();
+        TrieStats empty = stated.stats();
+        Assertions.assertEquals(1, empty.vertexCount());
+        Assertions.assertEquals(0, empty.finalCount());
+        Assertions.assertArrayEquals(new int[]{1}, empty.depthHistogram());
+        Assertions.assertArrayEquals(new int[]{1}, empty.branchingHistogram());
+
+        for (String element : List.of("a", "ab", "ac", "b")) {
+            stated.add(element);
+        }
+        TrieStats small = stated.stats();
+        Assertions.assertEquals(5, small.vertexCount());
+        Assertions.assertEquals(4, small.finalCount());
+        Assertions.assertArrayEquals(new int[]{1, 2, 2}, small.depthHistogram());
+        Assertions.assertArrayEquals(new int[]{3, 0, 2}, small.branchingHistogram());
+        Assertions.assertEquals(5, small.sparseCount());
+        Assertions.assertEquals(0, small.denseCount());
+        Assertions.assertTrue(small.estimatedBytes() >= 5 * 32);
+
+        for (int i = 0; i < 26; i++) {
+            stated.add(String.valueOf((char) ('a' + i)) + 'x');
+        }
+        TrieStats dense = stated.stats();
+        Assertions.assertEquals(1 + 26 + 28, dense.vertexCount());
+        Assertions.assertEquals(1, dense.denseCount());
+        Assertions.assertTrue(dense.denseBytes() > 0);
+        Assertions.assertEquals(dense.sparseBytes() + dense.denseBytes(), dense.estimatedBytes());
+    }
+
+    @Test
+    public void testStressStats() {
+        TrieImpl stated = new TrieImpl();
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 5; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(51)));
+            }
+            stated.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+        Set<String> prefixes = new TreeSet<>();
+        for (String element : corrTrie) {
+            for (int i = 0; i <= element.length(); i++) {
+                prefixes.add(element.substring(0, i));
+            }
+        }
+        TrieStats stats = stated.stats();
+        Assertions.assertEquals(prefixes.size(), stats.vertexCount());
+        Assertions.assertEquals(corrTrie.size(), stats.finalCount());
+        Assertions.assertEquals(stats.vertexCount(), stats.sparseCount() + stats.denseCount());
+        Assertions.assertEquals(stats.vertexCount(), Arrays.stream(stats.depthHistogram()).sum());
+        Assertions.assertEquals(stats.vertexCount(), Arrays.stream(stats.branchingHistogram()).sum());
+        for (int depth = 0; depth < stats.depthHistogram().length; depth++) {
+            int length = depth;
+            Assertions.assertEquals(prefixes.stream().filter(prefix -> prefix.length() == length).count(),
+                    stats.depthHistogram()[depth]);
+        }
+    }
+
+    private static int levenshtein(String first, String second) {
+        int[][] distance = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                } else {
+                    distance[i][j] = Math.min(Math.min(distance[i - 1][j], distance[i][j - 1]) + 1,
+                            distance[i - 1][j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1));
+                }
+            }
+        }
+        return distance[first.length()][second.length()];
+    }
+}
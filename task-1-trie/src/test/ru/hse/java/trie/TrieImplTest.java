@@ -4,13 +4,18 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 public class TrieImplTest {
 
-    private TrieImpl trie;
+    protected Trie trie;
     private TreeSet<String> corrTrie;
     private final int cntStress = 50000;
     private final int seedStress = 38371;
@@ -33,9 +38,13 @@ public class TrieImplTest {
         return alphabet[i];
     }
 
+    protected Trie createTrie() {
+        return new TrieImpl();
+    }
+
     @BeforeEach
     void startTest() {
-        trie = new TrieImpl();
+        trie = createTrie();
     }
 
     @Test
@@ -197,6 +206,200 @@ public class TrieImplTest {
         Assertions.assertEquals("aad", trie.nextString("", 4));
     }
 
+    @Test
+    public void testNextStringOutOfRange() {
+        trie.add("a");
+        trie.add("b");
+
+        Assertions.assertEquals("b", trie.nextString("a", 1));
+        Assertions.assertNull(trie.nextString("a", 2));
+        Assertions.assertNull(trie.nextString("b", 1));
+        Assertions.assertEquals("a", trie.nextString("", 1));
+    }
+
+    @Test
+    public void testPrefixIterator() {
+        trie.add("Moscow");
+        trie.add("Mos");
+        trie.add("MoscowMSK");
+        trie.add("Moscowlove");
+        trie.add("Petersburg");
+        trie.add("");
+
+        Assertions.assertEquals(List.of("Mos", "Moscow", "MoscowMSK", "Moscowlove"),
+                trie.withPrefix("Mos").collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("", "Mos", "Moscow", "MoscowMSK", "Moscowlove", "Petersburg"),
+                trie.withPrefix("").collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("MoscowMSK", "Moscowlove"),
+                toList(trie.prefixIterator("Mos", "Moscow", 10)));
+        Assertions.assertEquals(List.of("Moscowlove"),
+                toList(trie.prefixIterator("Mos", "MoscowN", 10)));
+        Assertions.assertEquals(List.of("Mos", "Moscow"),
+                toList(trie.prefixIterator("Mos", "Ab", 2)));
+        Assertions.assertEquals(List.of(), toList(trie.prefixIterator("Mos", "Mp", 10)));
+        Assertions.assertEquals(List.of(), toList(trie.prefixIterator("Mos", null, 0)));
+        Assertions.assertEquals(List.of(), toList(trie.prefixIterator("Kazan")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.prefixIterator("", null, -1));
+    }
+
+    @Test
+    public void testBatchLookup() {
+        Assertions.assertTrue(trie.add("Moscow"));
+        Assertions.assertTrue(trie.add("Mostar"));
+        Assertions.assertTrue(trie.add("Mos"));
+        Assertions.assertTrue(trie.add(""));
+
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2);
+        expected.set(4);
+        expected.set(5);
+        Assertions.assertEquals(expected, trie.containsAll(new String[]{"Mostar", "Mosc", "Mos", "Moscow1", "", "Mostar"}));
+        Assertions.assertArrayEquals(new int[]{3, 4, 1, 0, 0, 1},
+                trie.countPrefixes(List.of("Mos", "", "Mosc", "Mp", "Moscow1", "Moscow")));
+        Assertions.assertTrue(trie.containsAll(new String[0]).isEmpty());
+        Assertions.assertArrayEquals(new int[0], trie.countPrefixes(List.of()));
+    }
+
+    @Test
+    public void testStressBatchLookup() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 6; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            trie.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+
+        for (int batch = 0; batch < 100; batch++) {
+            String[] elements = new String[rand.nextInt(200)];
+            for (int j = 0; j < elements.length; j++) {
+                StringBuilder strBuilder = new StringBuilder();
+                for (int i = rand.nextInt(7); i < 6; i++) {
+                    strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+                }
+                elements[j] = strBuilder.toString();
+            }
+            BitSet contained = trie.containsAll(elements);
+            int[] counts = trie.countPrefixes(List.of(elements));
+            for (int j = 0; j < elements.length; j++) {
+                Assertions.assertEquals(corrTrie.contains(elements[j]), contained.get(j));
+                Assertions.assertEquals(corrTrie.subSet(elements[j], elements[j] + Character.MAX_VALUE).size(), counts[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testCharSequenceOverloads() {
+        char[] buffer = "GET /Moscow/Mostar HTTP".toCharArray();
+        StringBuilder builder = new StringBuilder("Kazan");
+        Assertions.assertTrue(trie.add(buffer, 5, 6));
+        Assertions.assertTrue(trie.add(builder));
+        Assertions.assertTrue(trie.add(new StringBuilder("Mostar")));
+        Assertions.assertFalse(trie.add(buffer, 12, 6));
+        Assertions.assertFalse(trie.add(buffer, 5, 6));
+
+        Assertions.assertTrue(trie.contains("Moscow"));
+        Assertions.assertTrue(trie.contains(buffer, 12, 6));
+        Assertions.assertFalse(trie.contains(buffer, 5, 3));
+        Assertions.assertTrue(trie.contains((CharSequence) "Kazan"));
+        builder.setLength(4);
+        Assertions.assertFalse(trie.contains(builder));
+        Assertions.assertEquals(1, trie.howManyStartsWithPrefix(builder));
+        Assertions.assertEquals(2, trie.howManyStartsWithPrefix(buffer, 5, 3));
+        Assertions.assertEquals(3, trie.howManyStartsWithPrefix(buffer, 0, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> trie.contains(buffer, 20, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> trie.howManyStartsWithPrefix(buffer, -1, 2));
+    }
+
+    @Test
+    public void testCursor() {
+        for (String element : List.of("Moscow", "MoscowNorth", "Mostar", "Mosul", "Paris", "")) {
+            trie.add(element);
+        }
+
+        TrieCursor cursor = trie.cursor("Mostar");
+        Assertions.assertEquals("Mostar", cursor.current());
+        Assertions.assertTrue(cursor.advance());
+        Assertions.assertEquals("Mosul", cursor.current());
+        Assertions.assertTrue(cursor.advance(1));
+        Assertions.assertEquals("Paris", cursor.current());
+        Assertions.assertFalse(cursor.advance());
+        Assertions.assertNull(cursor.current());
+        Assertions.assertFalse(cursor.advance());
+
+        cursor = trie.cursor("Mos");
+        Assertions.assertEquals("Moscow", cursor.current());
+        Assertions.assertTrue(cursor.advance(0));
+        Assertions.assertTrue(cursor.advance(3));
+        Assertions.assertEquals("Mosul", cursor.current());
+        Assertions.assertFalse(cursor.advance(5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.cursor("").advance(-1));
+
+        Assertions.assertEquals("", trie.cursor("").current());
+        Assertions.assertNull(trie.cursor("Rome").current());
+    }
+
+    @Test
+    public void testStressCursor() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 6; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            trie.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+
+        for (int cnt = 0; cnt < 500; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 6; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            String element = strBuilder.toString();
+            TrieCursor cursor = trie.cursor(element);
+            String expected = corrTrie.ceiling(element);
+            for (int step = 0; step < 5; step++) {
+                Assertions.assertEquals(expected, cursor.current());
+                // long jumps skip by subtree sizes instead of stepping
+                int k = step % 2 == 0 ? rand.nextInt(4) : rand.nextInt(100);
+                cursor.advance(k);
+                for (int i = 0; i < k && expected != null; i++) {
+                    expected = corrTrie.higher(expected);
+                }
+            }
+        }
+    }
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testWholeAlphabetInOneVertex() {
+        for (int i = alphabet.length - 1; i >= 0; i--) {
+            Assertions.assertTrue(trie.add("x" + getElemAlphabet(i)));
+        }
+        Assertions.assertTrue(trie.add("x"));
+
+        Assertions.assertEquals(53, trie.howManyStartsWithPrefix("x"));
+        for (int i = 0; i < alphabet.length; i++) {
+            Assertions.assertTrue(trie.contains("x" + getElemAlphabet(i)));
+            Assertions.assertEquals("x" + getElemAlphabet(i), trie.nextString("x", i + 1));
+        }
+        Assertions.assertFalse(trie.contains("x1"));
+
+        for (int i = 0; i < alphabet.length; i += 2) {
+            Assertions.assertTrue(trie.remove("x" + getElemAlphabet(i)));
+        }
+        Assertions.assertEquals(27, trie.howManyStartsWithPrefix("x"));
+        Assertions.assertEquals("xB", trie.nextString("x", 1));
+        Assertions.assertEquals("xb", trie.nextString("xZ", 1));
+    }
+
 
 
     @BeforeEach
@@ -250,6 +453,66 @@ public class TrieImplTest {
         Assertions.assertEquals(corrTrie.size(), trie.size());
     }
 
+    @Test
+    public void testStressNextString() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 4; i < 4; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            trie.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 5; i < 5; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            String element = strBuilder.toString();
+            int k = rand.nextInt(10);
+
+            String expected;
+            if (k == 0) {
+                expected = corrTrie.contains(element) ? element : null;
+            } else {
+                expected = corrTrie.tailSet(element, false).stream().skip(k - 1).findFirst().orElse(null);
+            }
+            Assertions.assertEquals(expected, trie.nextString(element, k));
+        }
+    }
+
+    @Test
+    public void testStressPrefixIterator() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 6; i < 6; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            trie.add(strBuilder.toString());
+            corrTrie.add(strBuilder.toString());
+        }
+
+        for (int cnt = 0; cnt < 1000; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 3; i < 3; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            String prefix = strBuilder.toString();
+            for (int i = cnt % 5; i < 5; i++) {
+                strBuilder.append(getElemAlphabet(rand.nextInt(4) * 13));
+            }
+            String startAfter = cnt % 7 == 0 ? null : strBuilder.toString();
+            int limit = rand.nextInt(30);
+
+            List<String> expected = corrTrie.subSet(prefix, prefix + Character.MAX_VALUE).stream()
+                    .filter(element -> startAfter == null || element.compareTo(startAfter) > 0)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, toList(trie.prefixIterator(prefix, startAfter, limit)));
+        }
+    }
+
     @Test
     public void testStressFull() {
         Set<String> correct = new TreeSet<>();
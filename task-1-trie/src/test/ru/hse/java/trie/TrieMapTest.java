@@ -0,0 +1,185 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class TrieMapTest {
+
+    private final int cntStress = 50000;
+    private final int seedStress = 38371;
+
+    private TrieMap<Integer> map;
+
+    @BeforeEach
+    void startTest() {
+        map = new TrieMap<>();
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        Assertions.assertNull(map.put("SKU-1", 1));
+        Assertions.assertNull(map.put("SKU-12", 12));
+        Assertions.assertNull(map.put("", 0));
+        Assertions.assertEquals(1, map.put("SKU-1", 100));
+        Assertions.assertNull(map.put("nothing", null));
+
+        Assertions.assertEquals(4, map.size());
+        Assertions.assertEquals(100, map.get("SKU-1"));
+        Assertions.assertEquals(0, map.get(""));
+        Assertions.assertNull(map.get("SKU-"));
+        Assertions.assertNull(map.get("nothing"));
+        Assertions.assertTrue(map.containsKey("nothing"));
+        Assertions.assertFalse(map.containsKey("SKU-"));
+
+        Assertions.assertNull(map.remove("SKU-"));
+        Assertions.assertEquals(100, map.remove("SKU-1"));
+        Assertions.assertNull(map.remove("SKU-1"));
+        Assertions.assertEquals(12, map.get("SKU-12"));
+        Assertions.assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testEntriesInOrder() {
+        map.put("b", 2);
+        map.put("ab", 12);
+        map.put("a", 1);
+        map.put("", 0);
+
+        Assertions.assertEquals(List.of("", "a", "ab", "b"), new ArrayList<>(map.keySet()));
+        Assertions.assertEquals(List.of(0, 1, 12, 2), new ArrayList<>(map.values()));
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + 1);
+        }
+        Assertions.assertEquals(13, map.get("ab"));
+        Assertions.assertEquals(Map.of("", 1, "a", 2, "ab", 13, "b", 3), map);
+    }
+
+    @Test
+    public void testPrefixMap() {
+        map.put("car", 1);
+        map.put("cart", 2);
+        map.put("carbon", 3);
+        map.put("cat", 4);
+        map.put("dog", 5);
+
+        Map<String, Integer> cars = map.prefixMap("car");
+        Assertions.assertEquals(3, cars.size());
+        Assertions.assertEquals(3, map.howManyStartsWithPrefix("car"));
+        Assertions.assertEquals(List.of("car", "carbon", "cart"), new ArrayList<>(cars.keySet()));
+        Assertions.assertNull(cars.get("cat"));
+        Assertions.assertFalse(cars.containsKey("dog"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cars.put("cat", 0));
+
+        cars.put("cargo", 6);
+        Assertions.assertEquals(6, map.get("cargo"));
+        map.remove("cart");
+        Assertions.assertEquals(3, cars.size());
+        Assertions.assertNull(cars.remove("dog"));
+        Assertions.assertEquals(5, map.get("dog"));
+
+        cars.clear();
+        Assertions.assertTrue(cars.isEmpty());
+        Assertions.assertEquals(Map.of("cat", 4, "dog", 5), map);
+        Assertions.assertEquals(0, map.prefixMap("x").size());
+        map.prefixMap("").clear();
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemoveThroughViews() {
+        map.put("", 0);
+        map.put("a", 1);
+        map.put("ab", 12);
+        map.put("abc", 123);
+        map.put("b", 2);
+        map.put("ba", 21);
+
+        Assertions.assertTrue(map.keySet().remove("ab"));
+        Assertions.assertFalse(map.keySet().remove("ab"));
+        Assertions.assertFalse(map.prefixMap("b").keySet().remove("a"));
+        Assertions.assertTrue(map.keySet().removeIf(key -> key.length() == 3));
+        Assertions.assertTrue(map.values().removeIf(value -> value == 2));
+        Assertions.assertTrue(map.entrySet().removeIf(entry -> entry.getKey().isEmpty()));
+        Assertions.assertEquals(Map.of("a", 1, "ba", 21), map);
+
+        map.put("bb", 22);
+        map.put("c", 3);
+        Assertions.assertTrue(map.prefixMap("b").keySet().removeIf(key -> true));
+        Assertions.assertEquals(Map.of("a", 1, "c", 3), map);
+
+        Iterator<String> keys = map.keySet().iterator();
+        Assertions.assertThrows(IllegalStateException.class, keys::remove);
+        Assertions.assertEquals("a", keys.next());
+        keys.remove();
+        Assertions.assertThrows(IllegalStateException.class, keys::remove);
+        Assertions.assertEquals("c", keys.next());
+        Assertions.assertFalse(keys.hasNext());
+        Assertions.assertEquals(Map.of("c", 3), map);
+    }
+
+    @Test
+    public void testIteratorsFailFast() {
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Iterator<String> keys = map.keySet().iterator();
+        Assertions.assertEquals("a", keys.next());
+        map.remove("a");
+        Assertions.assertThrows(ConcurrentModificationException.class, keys::next);
+
+        Iterator<Map.Entry<String, Integer>> entries = map.prefixMap("").entrySet().iterator();
+        entries.next();
+        map.put("d", 4);
+        Assertions.assertThrows(ConcurrentModificationException.class, entries::remove);
+
+        // changing a value does not change the keys
+        Iterator<Integer> values = map.values().iterator();
+        Assertions.assertEquals(2, values.next());
+        map.put("c", 30);
+        Assertions.assertEquals(30, values.next());
+
+        Iterator<String> cars = map.keySet().iterator();
+        cars.next();
+        map.prefixMap("c").clear();
+        Assertions.assertThrows(ConcurrentModificationException.class, cars::next);
+    }
+
+    @Test
+    public void testStress() {
+        Random rand = new Random(seedStress);
+        TreeMap<String, Integer> correct = new TreeMap<>();
+        for (int cnt = 0; cnt < cntStress; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 5; i < 5; i++) {
+                strBuilder.append((char) ('a' + rand.nextInt(4)));
+            }
+            String key = strBuilder.toString();
+            int command = rand.nextInt(3);
+            if (command == 0) {
+                Assertions.assertEquals(correct.remove(key), map.remove(key));
+            } else if (command == 1) {
+                Assertions.assertEquals(correct.put(key, cnt), map.put(key, cnt));
+            } else {
+                Assertions.assertEquals(correct.get(key), map.get(key));
+            }
+            Assertions.assertEquals(correct.size(), map.size());
+            String prefix = key.substring(0, rand.nextInt(key.length() + 1));
+            Assertions.assertEquals(correct.subMap(prefix, prefix + Character.MAX_VALUE).size(),
+                    map.howManyStartsWithPrefix(prefix));
+            if (cnt % 100 == 0) {
+                Assertions.assertEquals(new ArrayList<>(correct.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()),
+                        new ArrayList<>(map.prefixMap(prefix).entrySet()));
+            }
+        }
+    }
+}
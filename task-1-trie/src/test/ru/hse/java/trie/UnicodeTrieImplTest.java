@@ -0,0 +1,76 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class UnicodeTrieImplTest extends TrieImplTest {
+
+    @Override
+    protected Trie createTrie() {
+        return new TrieImpl(codePoint -> true);
+    }
+
+    @Test
+    public void testProductIdentifiers() {
+        Assertions.assertTrue(trie.add("SKU-0042"));
+        Assertions.assertTrue(trie.add("SKU-0042-Б"));
+        Assertions.assertTrue(trie.add("Молоко-1л"));
+        Assertions.assertTrue(trie.add("😀-smile"));
+        Assertions.assertFalse(trie.add("SKU-0042"));
+
+        Assertions.assertTrue(trie.contains("Молоко-1л"));
+        Assertions.assertFalse(trie.contains("Молоко"));
+        Assertions.assertEquals(2, trie.howManyStartsWithPrefix("SKU-"));
+        Assertions.assertEquals("Молоко-1л", trie.nextString("SKU-0042-Б", 1));
+        Assertions.assertEquals("😀-smile", trie.nextString("Молоко-1л", 1));
+        Assertions.assertTrue(trie.remove("SKU-0042"));
+        Assertions.assertEquals(1, trie.howManyStartsWithPrefix("SKU-"));
+    }
+
+    @Test
+    public void testPredicate() {
+        Trie latin = new TrieImpl();
+        Assertions.assertFalse(latin.add("a1"));
+        Assertions.assertFalse(latin.add("Б"));
+
+        Trie identifiers = new TrieImpl(codePoint -> Character.isLetterOrDigit(codePoint) || codePoint == '-');
+        Assertions.assertTrue(identifiers.add("ab-1"));
+        Assertions.assertTrue(identifiers.add("Ёж-2"));
+        Assertions.assertFalse(identifiers.add("ab 1"));
+        Assertions.assertFalse(identifiers.add("ab-1_"));
+        Assertions.assertTrue(identifiers.add("𝐀"));
+        Assertions.assertFalse(identifiers.add("😀"));
+        Assertions.assertFalse(identifiers.add("𝐀😀"));
+        Assertions.assertEquals(3, identifiers.size());
+    }
+
+    @Test
+    public void testStressWideAlphabet() {
+        Random rand = new Random(38371);
+        TreeSet<String> corrTrie = new TreeSet<>();
+        // close chars make dense vertices, far ones keep them sparse and switch dense ones back
+        char[] alphabet = "-019ABZabczЁАБЯабяё一鿿".toCharArray();
+        for (int cnt = 0; cnt < 20000; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 4; i < 4; i++) {
+                strBuilder.append(alphabet[rand.nextInt(cnt % 3 == 0 ? alphabet.length : 10)]);
+            }
+            String element = strBuilder.toString();
+            if (rand.nextInt(3) == 0) {
+                Assertions.assertEquals(corrTrie.remove(element), trie.remove(element));
+            } else {
+                Assertions.assertEquals(corrTrie.add(element), trie.add(element));
+            }
+            Assertions.assertEquals(corrTrie.higher(element), trie.nextString(element, 1));
+            Assertions.assertEquals(corrTrie.subSet(element, element + Character.MAX_VALUE).size(),
+                    trie.howManyStartsWithPrefix(element));
+        }
+        Assertions.assertEquals(corrTrie.size(), trie.size());
+        Assertions.assertEquals(corrTrie.stream().limit(100).collect(Collectors.toList()),
+                trie.withPrefix("").limit(100).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.hse.java.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class WeightedTrieImplTest extends TrieImplTest {
+
+    @Override
+    protected Trie createTrie() {
+        return new WeightedTrieImpl();
+    }
+
+    @Test
+    public void testTopK() {
+        WeightedTrieImpl weighted = new WeightedTrieImpl();
+        Assertions.assertTrue(weighted.add("java", 100));
+        Assertions.assertTrue(weighted.add("javascript", 300));
+        Assertions.assertTrue(weighted.add("jar", 50));
+        Assertions.assertTrue(weighted.add("jam", 50));
+        Assertions.assertTrue(weighted.add("kotlin", 200));
+        Assertions.assertTrue(weighted.add("j"));
+
+        Assertions.assertEquals(List.of("javascript", "java"), weighted.topK("ja", 2));
+        Assertions.assertEquals(List.of("javascript", "java", "jam", "jar", "j"), weighted.topK("j", 10));
+        Assertions.assertEquals(List.of("javascript", "kotlin", "java"), weighted.topK("", 3));
+        Assertions.assertEquals(List.of(), weighted.topK("x", 3));
+        Assertions.assertEquals(List.of(), weighted.topK("ja", 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> weighted.topK("ja", -1));
+
+        Assertions.assertFalse(weighted.add("jar", 400));
+        Assertions.assertEquals(400L, weighted.getScore("jar"));
+        Assertions.assertEquals(List.of("jar", "javascript"), weighted.topK("ja", 2));
+        Assertions.assertFalse(weighted.add("jar"));
+        Assertions.assertEquals(400L, weighted.getScore("jar"));
+
+        Assertions.assertTrue(weighted.remove("jar"));
+        Assertions.assertTrue(weighted.remove("javascript"));
+        Assertions.assertNull(weighted.getScore("jar"));
+        Assertions.assertEquals(List.of("java", "jam"), weighted.topK("ja", 2));
+    }
+
+    @Test
+    public void testTopKExtremeScores() {
+        WeightedTrieImpl weighted = new WeightedTrieImpl();
+        Assertions.assertTrue(weighted.add("low", Long.MIN_VALUE));
+        Assertions.assertTrue(weighted.add("high", Long.MAX_VALUE));
+        Assertions.assertTrue(weighted.add("zero"));
+
+        Assertions.assertEquals(List.of("high", "zero", "low"), weighted.topK("", 3));
+        Assertions.assertEquals(List.of("high"), weighted.topK("", 1));
+        Assertions.assertEquals(List.of("low"), weighted.topK("l", 1));
+    }
+
+    @Test
+    public void testStressTopK() {
+        Random rand = new Random(38371);
+        WeightedTrieImpl weighted = new WeightedTrieImpl();
+        Map<String, Long> scores = new TreeMap<>();
+        for (int cnt = 0; cnt < 20000; cnt++) {
+            StringBuilder strBuilder = new StringBuilder();
+            for (int i = cnt % 5; i < 5; i++) {
+                strBuilder.append((char) ('a' + rand.nextInt(4)));
+            }
+            String element = strBuilder.toString();
+            if (rand.nextInt(4) == 0) {
+                Assertions.assertEquals(scores.remove(element) != null, weighted.remove(element));
+            } else {
+                long score = rand.nextInt(100);
+                Assertions.assertEquals(scores.put(element, score) == null, weighted.add(element, score));
+            }
+
+            String prefix = element.substring(0, rand.nextInt(element.length() + 1));
+            int k = rand.nextInt(10);
+            List<String> expected = scores.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Comparator.comparingLong((Map.Entry<String, Long> entry) -> -entry.getValue())
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(k)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, weighted.topK(prefix, k));
+        }
+    }
+}
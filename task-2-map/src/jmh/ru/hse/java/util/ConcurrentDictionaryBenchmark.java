@@ -0,0 +1,54 @@
+package ru.hse.java.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-mostly load from all available cores: 90% of operations are get, 10% are put/remove.
+ * Half of the keys are present at the start, so the size stays about the same
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(Threads.MAX)
+public class ConcurrentDictionaryBenchmark {
+    private static final int KEYS = 1 << 20;
+
+    @Param({"ConcurrentDictionaryImpl", "SynchronizedDictionaryImpl"})
+    private String implementation;
+
+    private Integer[] data;
+    private Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            data[i] = ThreadLocalRandom.current().nextInt();
+        }
+        map = DictionaryFactory.create(implementation);
+        for (int i = 0; i < KEYS; i += 2) {
+            map.put(data[i], i);
+        }
+    }
+
+    @Benchmark
+    public Object readMostly() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        int i = rand.nextInt(KEYS);
+        int operation = rand.nextInt(20);
+        if (operation == 0) {
+            return map.put(data[i], i);
+        } else if (operation == 1) {
+            return map.remove(data[i]);
+        } else {
+            return map.get(data[i]);
+        }
+    }
+}
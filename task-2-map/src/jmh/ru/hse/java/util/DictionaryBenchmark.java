@@ -0,0 +1,95 @@
+package ru.hse.java.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get and put of Long keys against java.util.HashMap.
+ * "stride" keys differ only in high bits, they all collide unless the hash is spread before masking.
+ * The keys are long, so i << 12 does not overflow for the largest sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class DictionaryBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"DictionaryImpl", "IncrementalDictionaryImpl", "OpenAddressingDictionaryImpl", "HashMap"})
+    private String implementation;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"random", "stride"})
+    private String keys;
+
+    private Long[] present;
+    private Long[] absent;
+    private int[] queries;
+    private Map<Long, Long> map;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(38371);
+        present = new Long[size];
+        absent = new Long[size];
+        for (int i = 0; i < size; i++) {
+            // even keys are present, odd ones are absent
+            present[i] = keys.equals("random") ? random.nextLong() & ~1L : (long) i << 12;
+            absent[i] = present[i] | 1L;
+        }
+        map = DictionaryFactory.create(implementation);
+        for (Long key : present) {
+            map.put(key, key);
+        }
+        queries = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Long get() {
+        next = (next + 1) & (QUERIES - 1);
+        return map.get(present[queries[next]]);
+    }
+
+    @Benchmark
+    public Long getAbsent() {
+        next = (next + 1) & (QUERIES - 1);
+        return map.get(absent[queries[next]]);
+    }
+
+    /**
+     * Replaces the value of a present key, so the size and the table stay the same
+     */
+    @Benchmark
+    public Long put() {
+        next = (next + 1) & (QUERIES - 1);
+        Long key = present[queries[next]];
+        return map.put(key, key);
+    }
+
+    /**
+     * Fills an empty map, resizes included
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public Map<Long, Long> fill() {
+        Map<Long, Long> filled = DictionaryFactory.create(implementation);
+        for (Long key : present) {
+            filled.put(key, key);
+        }
+        return filled;
+    }
+}
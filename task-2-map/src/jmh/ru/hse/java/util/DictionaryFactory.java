@@ -0,0 +1,35 @@
+package ru.hse.java.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary implementations and java.util.HashMap by their class names, for @Param of the benchmarks.
+ * IncrementalDictionaryImpl is DictionaryImpl with incremental rehashing,
+ * SynchronizedDictionaryImpl is DictionaryImpl behind one lock
+ */
+final class DictionaryFactory {
+
+    private DictionaryFactory() {
+    }
+
+    static <K, V> Map<K, V> create(String implementation) {
+        switch (implementation) {
+            case "DictionaryImpl":
+                return new DictionaryImpl<>();
+            case "IncrementalDictionaryImpl":
+                return new DictionaryImpl<>(4, 0.75f, true);
+            case "OpenAddressingDictionaryImpl":
+                return new OpenAddressingDictionaryImpl<>();
+            case "ConcurrentDictionaryImpl":
+                return new ConcurrentDictionaryImpl<>();
+            case "SynchronizedDictionaryImpl":
+                return Collections.synchronizedMap(new DictionaryImpl<>());
+            case "HashMap":
+                return new HashMap<>();
+            default:
+                throw new IllegalArgumentException("Unknown dictionary implementation: " + implementation);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.hse.java.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of put while a map grows from empty to the given size, rehashes included.
+ * The tail percentiles and the maximum show the pauses of rehashing all mappings at once
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PutLatencyBenchmark {
+
+    @Param({"DictionaryImpl", "IncrementalDictionaryImpl", "OpenAddressingDictionaryImpl", "HashMap"})
+    private String implementation;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private Integer[] keys;
+    private Map<Integer, Integer> map;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 31;
+        }
+        map = DictionaryFactory.create(implementation);
+    }
+
+    @Benchmark
+    public Integer put() {
+        if (next == size) {
+            next = 0;
+            map = DictionaryFactory.create(implementation);
+        }
+        Integer key = keys[next++];
+        return map.put(key, key);
+    }
+}
@@ -0,0 +1,693 @@
+package ru.hse.java.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Потокобезопасная хеш-таблица со списками в корзинах.
+ * get и containsKey не берут блокировок: корзины читаются из AtomicReferenceArray, ссылки next и значения volatile.
+ * put и remove блокируют только свою корзину, синхронизируясь на её первом элементе; вставка в пустую корзину -- CAS.
+ * putIfAbsent, replace, remove(key, value), computeIfAbsent, computeIfPresent, compute и merge атомарны, как и
+ * в Collections.synchronizedMap: проверка и изменение идут под блокировкой той же корзины, функции вызываются
+ * под ней же и не должны менять словарь.
+ * Таблицу увеличивают вдвое все пишущие потоки вместе: каждый забирает очередной отрезок корзин,
+ * переносит их и оставляет в старой таблице пересылающий элемент, по которому остальные находят новую таблицу.
+ * Итераторы и коллекции слабо согласованы: не бросают ConcurrentModificationException,
+ * каждую пару выдают не больше одного раза, а изменения после создания итератора могут увидеть или нет.
+ * Таблица не уменьшается, как и в ConcurrentHashMap
+ */
+public class ConcurrentDictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionary<K, V> {
+    // hash пересылающего элемента, хеши ключей неотрицательны
+    private static final int MOVED = -1;
+    // hash временного элемента, на котором блокируется пустая корзина, пока update решает, что в неё положить
+    private static final int RESERVED = -2;
+    // ответы Update: оставить пару как есть и удалить пару
+    private static final Object KEEP = new Object();
+    private static final Object REMOVE = new Object();
+    // update возвращает его, если пары не было
+    private static final Object ABSENT = new Object();
+    // сколько корзин поток забирает для переноса за раз
+    private static final int TRANSFER_STRIDE = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIN_CAPACITY = 4;
+
+    private static class Node<K, V> {
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        private Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Стоит в корзине старой таблицы, содержимое которой уже перенесено
+     */
+    private static class ForwardingNode<K, V> extends Node<K, V> {
+        private final Resize<K, V> resize;
+
+        private ForwardingNode(Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    private static class Resize<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> oldTable;
+        private final AtomicReferenceArray<Node<K, V>> newTable;
+        private final ForwardingNode<K, V> forwarding = new ForwardingNode<>(this);
+        // корзины [0, transferIndex) ещё никто не забрал
+        private final AtomicInteger transferIndex;
+        // сколько корзин ещё не перенесено
+        private final AtomicInteger remaining;
+
+        private Resize(AtomicReferenceArray<Node<K, V>> oldTable) {
+            this.oldTable = oldTable;
+            newTable = new AtomicReferenceArray<>(2 * oldTable.length());
+            transferIndex = new AtomicInteger(oldTable.length());
+            remaining = new AtomicInteger(oldTable.length());
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    // размер, после которого начинается увеличение таблицы
+    private volatile int threshold;
+    // идущее увеличение таблицы или null
+    private volatile Resize<K, V> resize;
+    private final Object resizeLock = new Object();
+    private final LongAdder count = new LongAdder();
+
+    private final float LOAD_FACTOR;
+
+    public ConcurrentDictionaryImpl() {
+        this(MIN_CAPACITY, 0.75f);
+    }
+
+    public ConcurrentDictionaryImpl(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    public ConcurrentDictionaryImpl(int initialCapacity, float loadFactor) {
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("Load factor should be positive");
+        }
+        LOAD_FACTOR = loadFactor;
+        int capacity = MIN_CAPACITY;
+        while (capacity < initialCapacity && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        setTable(new AtomicReferenceArray<>(capacity));
+    }
+
+    private void setTable(AtomicReferenceArray<Node<K, V>> table) {
+        threshold = table.length() == MAX_CAPACITY ? Integer.MAX_VALUE : (int) (table.length() * LOAD_FACTOR);
+        this.table = table;
+    }
+
+    /**
+     * Фибоначчиево перемешивание, чтобы младшие биты, по которым выбирается корзина, зависели от всех бит хеша
+     */
+    private static int spread(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & Integer.MAX_VALUE;
+    }
+
+    private Node<K, V> find(Object key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> e = tab.get(hash & (tab.length() - 1));
+        while (e != null) {
+            if (e.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) e).resize.newTable;
+                e = tab.get(hash & (tab.length() - 1));
+            } else if (e.hash == hash && key.equals(e.key)) {
+                return e;
+            } else {
+                e = e.next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Если размер больше Integer.MAX_VALUE, возвращается Integer.MAX_VALUE
+     */
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public @Nullable V get(@NotNull Object key) {
+        Node<K, V> e = find(key);
+        return e == null ? null : e.value;
+    }
+
+    @Override
+    public @Nullable V put(@NotNull K key, V value) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int ind = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(ind);
+            if (first == null) {
+                if (tab.compareAndSet(ind, null, new Node<>(hash, key, value, null))) {
+                    break;
+                }
+                continue;
+            }
+            if (first.hash == MOVED) {
+                tab = helpResize(((ForwardingNode<K, V>) first).resize);
+                continue;
+            }
+            synchronized (first) {
+                if (tab.get(ind) != first) {
+                    continue;
+                }
+                Node<K, V> e = first;
+                while (true) {
+                    if (e.hash == hash && key.equals(e.key)) {
+                        V lastValue = e.value;
+                        e.value = value;
+                        return lastValue;
+                    }
+                    if (e.next == null) {
+                        e.next = new Node<>(hash, key, value, null);
+                        break;
+                    }
+                    e = e.next;
+                }
+            }
+            break;
+        }
+        addCount(tab);
+        return null;
+    }
+
+    /**
+     * Учитывает новую пару и начинает увеличение таблицы, если она заполнена
+     */
+    private void addCount(AtomicReferenceArray<Node<K, V>> tab) {
+        count.increment();
+        if (count.sum() > threshold) {
+            Resize<K, V> current = startResize(tab);
+            if (current != null) {
+                helpResize(current);
+            }
+        }
+    }
+
+    @Override
+    public @Nullable V remove(@NotNull Object key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int ind = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(ind);
+            if (first == null) {
+                return null;
+            }
+            if (first.hash == MOVED) {
+                tab = helpResize(((ForwardingNode<K, V>) first).resize);
+                continue;
+            }
+            synchronized (first) {
+                if (tab.get(ind) != first) {
+                    continue;
+                }
+                // читатели, стоящие на удаляемом элементе, продолжат по его next
+                Node<K, V> previous = null;
+                for (Node<K, V> e = first; e != null; previous = e, e = e.next) {
+                    if (e.hash == hash && key.equals(e.key)) {
+                        if (previous == null) {
+                            tab.set(ind, e.next);
+                        } else {
+                            previous.next = e.next;
+                        }
+                        count.decrement();
+                        return e.value;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Что сделать с парой ключа, решается под блокировкой корзины
+     */
+    private interface Update<K, V> {
+        /**
+         * @param node элемент пары или null, если пары нет
+         * @return новое значение, KEEP или REMOVE
+         */
+        Object apply(Node<K, V> node);
+    }
+
+    /**
+     * Атомарно меняет пару ключа: update получает её и решает, что с ней сделать, под блокировкой корзины,
+     * так что put и remove других потоков не вклиниваются между проверкой и изменением.
+     * Пустая корзина на это время занимается временным элементом, на котором и блокируются остальные
+     *
+     * @return значение до изменения или ABSENT, если пары не было
+     */
+    @SuppressWarnings("unchecked")
+    private Object update(Object key, Update<K, V> update) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int ind = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(ind);
+            if (first == null) {
+                Node<K, V> reservation = new Node<>(RESERVED, null, null, null);
+                boolean isAdded = false;
+                synchronized (reservation) {
+                    if (!tab.compareAndSet(ind, null, reservation)) {
+                        continue;
+                    }
+                    try {
+                        Object value = update.apply(null);
+                        if (value != KEEP && value != REMOVE) {
+                            tab.set(ind, new Node<>(hash, (K) key, (V) value, null));
+                            isAdded = true;
+                        }
+                    } finally {
+                        if (!isAdded) {
+                            tab.set(ind, null);
+                        }
+                    }
+                }
+                if (isAdded) {
+                    addCount(tab);
+                }
+                return ABSENT;
+            }
+            if (first.hash == MOVED) {
+                tab = helpResize(((ForwardingNode<K, V>) first).resize);
+                continue;
+            }
+            synchronized (first) {
+                if (tab.get(ind) != first) {
+                    continue;
+                }
+                Node<K, V> previous = null;
+                Node<K, V> e = first;
+                while (e != null && !(e.hash == hash && key.equals(e.key))) {
+                    previous = e;
+                    e = e.next;
+                }
+                Object value = update.apply(e);
+                if (e != null) {
+                    V lastValue = e.value;
+                    if (value == REMOVE) {
+                        if (previous == null) {
+                            tab.set(ind, e.next);
+                        } else {
+                            previous.next = e.next;
+                        }
+                        count.decrement();
+                    } else if (value != KEEP) {
+                        e.value = (V) value;
+                    }
+                    return lastValue;
+                }
+                if (value == KEEP || value == REMOVE) {
+                    return ABSENT;
+                }
+                previous.next = new Node<>(hash, (K) key, (V) value, null);
+            }
+            addCount(tab);
+            return ABSENT;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOf(Object lastValue) {
+        return lastValue == ABSENT ? null : (V) lastValue;
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(@NotNull K key, V value) {
+        return valueOf(update(key, e -> e == null || e.value == null ? value : KEEP));
+    }
+
+    @Override
+    public boolean remove(@NotNull Object key, Object value) {
+        Object lastValue = update(key, e -> e != null && Objects.equals(e.value, value) ? REMOVE : KEEP);
+        return lastValue != ABSENT && Objects.equals(lastValue, value);
+    }
+
+    @Override
+    public boolean replace(@NotNull K key, V oldValue, V newValue) {
+        Object lastValue = update(key, e -> e != null && Objects.equals(e.value, oldValue) ? newValue : KEEP);
+        return lastValue != ABSENT && Objects.equals(lastValue, oldValue);
+    }
+
+    @Override
+    public @Nullable V replace(@NotNull K key, V value) {
+        return valueOf(update(key, e -> e != null ? value : KEEP));
+    }
+
+    /*
+     * Функции ниже возвращают вычисленное значение через computed: update возвращает значение до изменения
+     */
+
+    @Override
+    public V computeIfAbsent(@NotNull K key, @NotNull Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        List<V> computed = new ArrayList<>(1);
+        V lastValue = valueOf(update(key, e -> {
+            if (e != null && e.value != null) {
+                return KEEP;
+            }
+            V value = mappingFunction.apply(key);
+            computed.add(value);
+            return value == null ? KEEP : value;
+        }));
+        return computed.isEmpty() ? lastValue : computed.get(0);
+    }
+
+    @Override
+    public V computeIfPresent(@NotNull K key,
+                              @NotNull BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        List<V> computed = new ArrayList<>(1);
+        update(key, e -> {
+            if (e == null || e.value == null) {
+                return KEEP;
+            }
+            V value = remappingFunction.apply(key, e.value);
+            computed.add(value);
+            return value == null ? REMOVE : value;
+        });
+        return computed.isEmpty() ? null : computed.get(0);
+    }
+
+    @Override
+    public V compute(@NotNull K key, @NotNull BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        List<V> computed = new ArrayList<>(1);
+        update(key, e -> {
+            V value = remappingFunction.apply(key, e == null ? null : e.value);
+            computed.add(value);
+            return value != null ? value : e == null ? KEEP : REMOVE;
+        });
+        return computed.get(0);
+    }
+
+    @Override
+    public V merge(@NotNull K key, @NotNull V value,
+                   @NotNull BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        List<V> computed = new ArrayList<>(1);
+        update(key, e -> {
+            V merged = e == null || e.value == null ? value : remappingFunction.apply(e.value, value);
+            computed.add(merged);
+            return merged == null ? REMOVE : merged;
+        });
+        return computed.get(0);
+    }
+
+    /**
+     * Удаляет пары по корзинам, пары, добавленные параллельно, могут остаться
+     */
+    @Override
+    public void clear() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int ind = 0;
+        while (ind < tab.length()) {
+            Node<K, V> first = tab.get(ind);
+            if (first == null) {
+                ind++;
+                continue;
+            }
+            if (first.hash == MOVED) {
+                tab = helpResize(((ForwardingNode<K, V>) first).resize);
+                ind = 0;
+                continue;
+            }
+            synchronized (first) {
+                if (tab.get(ind) != first) {
+                    continue;
+                }
+                tab.set(ind, null);
+                for (Node<K, V> e = first; e != null; e = e.next) {
+                    count.decrement();
+                }
+            }
+            ind++;
+        }
+    }
+
+    /**
+     * Начинает увеличение таблицы, если его ещё нет, и возвращает идущее увеличение или null
+     */
+    private Resize<K, V> startResize(AtomicReferenceArray<Node<K, V>> tab) {
+        synchronized (resizeLock) {
+            // table меняется раньше, чем resize обнуляется, так что устаревшую tab здесь не увеличить
+            if (resize == null && table == tab && tab.length() < MAX_CAPACITY && count.sum() > threshold) {
+                resize = new Resize<>(tab);
+            }
+            return resize;
+        }
+    }
+
+    /**
+     * Переносит корзины, пока есть не забранные, и возвращает новую таблицу
+     */
+    private AtomicReferenceArray<Node<K, V>> helpResize(Resize<K, V> current) {
+        while (true) {
+            int to = current.transferIndex.get();
+            if (to <= 0) {
+                return current.newTable;
+            }
+            int from = Math.max(0, to - TRANSFER_STRIDE);
+            if (!current.transferIndex.compareAndSet(to, from)) {
+                continue;
+            }
+            for (int ind = from; ind < to; ind++) {
+                transfer(current, ind);
+            }
+            if (current.remaining.addAndGet(from - to) == 0) {
+                setTable(current.newTable);
+                resize = null;
+            }
+        }
+    }
+
+    /**
+     * Делит корзину ind старой таблицы размера n на корзины ind и ind + n новой.
+     * Элементы копируются: читатели могут ещё идти по старой цепочке
+     */
+    private void transfer(Resize<K, V> current, int ind) {
+        AtomicReferenceArray<Node<K, V>> oldTable = current.oldTable;
+        int oldCapacity = oldTable.length();
+        while (true) {
+            Node<K, V> first = oldTable.get(ind);
+            if (first == null) {
+                if (oldTable.compareAndSet(ind, null, current.forwarding)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (first) {
+                if (oldTable.get(ind) != first) {
+                    continue;
+                }
+                Node<K, V> low = null;
+                Node<K, V> high = null;
+                for (Node<K, V> e = first; e != null; e = e.next) {
+                    if ((e.hash & oldCapacity) == 0) {
+                        low = new Node<>(e.hash, e.key, e.value, low);
+                    } else {
+                        high = new Node<>(e.hash, e.key, e.value, high);
+                    }
+                }
+                current.newTable.set(ind, low);
+                current.newTable.set(ind + oldCapacity, high);
+                oldTable.set(ind, current.forwarding);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Обходит корзины таблицы, существовавшей при создании итератора.
+     * Уже перенесённая корзина ind старой таблицы размера n читается из корзин ind и ind + n новой
+     */
+    private abstract class TableIterator<I> implements Iterator<I> {
+        private final AtomicReferenceArray<Node<K, V>> tab = table;
+        private int nextBin;
+        private final ArrayList<Node<K, V>> bin = new ArrayList<>();
+        private int nextInBin;
+        private Node<K, V> last;
+
+        protected abstract I get(Node<K, V> node);
+
+        private void collect(AtomicReferenceArray<Node<K, V>> tab, int ind) {
+            Node<K, V> e = tab.get(ind);
+            if (e != null && e.hash == RESERVED) {
+                // пара в эту корзину ещё не положена
+                return;
+            }
+            if (e != null && e.hash == MOVED) {
+                AtomicReferenceArray<Node<K, V>> newTable = ((ForwardingNode<K, V>) e).resize.newTable;
+                collect(newTable, ind);
+                collect(newTable, ind + tab.length());
+                return;
+            }
+            for (; e != null; e = e.next) {
+                bin.add(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextInBin == bin.size() && nextBin < tab.length()) {
+                bin.clear();
+                nextInBin = 0;
+                collect(tab, nextBin++);
+            }
+            return nextInBin < bin.size();
+        }
+
+        @Override
+        public I next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = bin.get(nextInBin++);
+            return get(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentDictionaryImpl.this.remove(last.key);
+            last = null;
+        }
+    }
+
+    private class KeyIterator extends TableIterator<K> {
+        @Override
+        protected K get(Node<K, V> node) {
+            return node.key;
+        }
+    }
+
+    private class ValueIterator extends TableIterator<V> {
+        @Override
+        protected V get(Node<K, V> node) {
+            return node.value;
+        }
+    }
+
+    private class EntryIterator extends TableIterator<Entry<K, V>> {
+        @Override
+        protected Entry<K, V> get(Node<K, V> node) {
+            return new DictionaryEntry(node.key, node.value);
+        }
+    }
+
+    /**
+     * Пара, setValue() которой кладёт значение в словарь
+     */
+    private class DictionaryEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private DictionaryEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public @NotNull Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key != null && containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentDictionaryImpl.this.size();
+        }
+    }
+
+    @Override
+    public @NotNull Set<K> keySet() {
+        return new KeySet();
+    }
+
+    private class ValuesCollection extends AbstractCollection<V> {
+
+        @Override
+        public @NotNull Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentDictionaryImpl.this.size();
+        }
+    }
+
+    @Override
+    public @NotNull Collection<V> values() {
+        return new ValuesCollection();
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public @NotNull Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentDictionaryImpl.this.size();
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+}
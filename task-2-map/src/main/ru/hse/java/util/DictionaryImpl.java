@@ -5,73 +5,110 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-import static java.lang.Math.sqrt;
-
 public class DictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionary<K, V> {
+    // пустые корзины -- null, списки создаются при первой вставке
     private List<LinkedList<Entry<K, V>>> hashTable;
 
     private int size;
+    // степень двойки, чтобы номер корзины брался маской, а не делением
     private int capacity;
-    private int hashPrimeCapacity;
 
-    private final double LOAD_FACTOR;
+    /*
+     * Во время постепенного рехеширования старая таблица живёт рядом с новой:
+     * корзины oldTable[0, migrateIndex) уже перенесены, остальные ещё нет.
+     * Вне рехеширования oldTable == null
+     */
+    private List<LinkedList<Entry<K, V>>> oldTable;
+    private int oldCapacity;
+    private int migrateIndex;
+
+    private final ResizePolicy POLICY;
+    private final boolean IS_INCREMENTAL;
     private final int REHASH_SIZE = 2;
-    private final int MIN_CAPACITY = 4;
+    private long rehashCount;
+    // сколько корзин старой таблицы переносит каждый put или remove, не меньше MIN_MIGRATION_STEP
+    private final int MIN_MIGRATION_STEP = 4;
+    private int migrationStep = MIN_MIGRATION_STEP;
 
     public DictionaryImpl() {
-        LOAD_FACTOR = 0.75;
-        capacity = MIN_CAPACITY;
-        hashPrimeCapacity = 3;
-        hashTable = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            hashTable.add(new LinkedList<>());
-        }
+        this(4, 0.75f, false);
     }
 
     public DictionaryImpl(int initialCapacity) {
-        capacity = initialCapacity;
-        hashPrimeCapacity = getNearestLowerPrime(initialCapacity);
-        LOAD_FACTOR = 0.75;
-        hashTable = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            hashTable.add(new LinkedList<>());
-        }
+        this(initialCapacity, 0.75f, false);
     }
 
     public DictionaryImpl(int initialCapacity, float loadFactor) {
-        capacity = initialCapacity;
-        hashPrimeCapacity = getNearestLowerPrime(initialCapacity);
-        LOAD_FACTOR = loadFactor;
-        hashTable = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            hashTable.add(new LinkedList<>());
-        }
+        this(initialCapacity, loadFactor, false);
     }
 
-    private int getBucket(int hashCode) {
-        return ((hashCode) % hashPrimeCapacity + hashPrimeCapacity) % hashPrimeCapacity;
+    /**
+     * @param isIncremental true -- рехеширование не переносит все пары сразу, а только создаёт новую таблицу;
+     *                      дальше каждый put и remove переносит несколько корзин старой,
+     *                      так что ни одна операция не перекладывает весь словарь
+     */
+    public DictionaryImpl(int initialCapacity, float loadFactor, boolean isIncremental) {
+        this(initialCapacity, ResizePolicy.withLoadFactor(loadFactor), isIncremental);
     }
 
-    private boolean isPrime(int x) {
-        if (x == 1) {
-            return false;
+    /**
+     * @param policy пороги заполненности для увеличения и уменьшения таблицы, минимальный размер
+     *               и когда таблица уменьшается
+     */
+    public DictionaryImpl(int initialCapacity, @NotNull ResizePolicy policy, boolean isIncremental) {
+        POLICY = policy;
+        IS_INCREMENTAL = isIncremental;
+        capacity = tableSizeFor(initialCapacity);
+        hashTable = createTable(capacity);
+    }
+
+    /**
+     * Наименьшая степень двойки, не меньшая capacity и минимального размера таблицы
+     */
+    private int tableSizeFor(int capacity) {
+        int tableSize = POLICY.getMinCapacity();
+        while (tableSize < capacity && tableSize < (1 << 30)) {
+            tableSize *= REHASH_SIZE;
         }
-        if (x == 2 || x == 3) {
-            return true;
+        return tableSize;
+    }
+
+    /**
+     * Таблица фиксированного размера из пустых корзин: только обнуление массива, без вставки capacity элементов
+     */
+    @SuppressWarnings("unchecked")
+    private List<LinkedList<Entry<K, V>>> createTable(int capacity) {
+        return Arrays.asList((LinkedList<Entry<K, V>>[]) new LinkedList<?>[capacity]);
+    }
+
+    /**
+     * Фибоначчиево хеширование: хеш умножается на 2^32 / золотое сечение и берутся старшие log2(capacity) бит.
+     * Они зависят от всех бит хеша, так что ключи, отличающиеся только старшими или только младшими битами,
+     * не собираются в одной корзине
+     */
+    private int getBucket(int hashCode, int capacity) {
+        return (hashCode * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private Entry<K, V> findIn(List<LinkedList<Entry<K, V>>> table, int capacity, Object key) {
+        LinkedList<Entry<K, V>> bucket = table.get(getBucket(key.hashCode(), capacity));
+        if (bucket == null) {
+            return null;
         }
-        for (int d = 2; d < sqrt(x) + 1; d++) {
-            if (x % d == 0) {
-                return false;
+        for (Entry<K, V> entry : bucket) {
+            if (key.equals(entry.getKey())) {
+                return entry;
             }
         }
-        return true;
+        return null;
     }
 
-    private int getNearestLowerPrime(int x) {
-        while (!isPrime(x)) {
-            x--;
+    private Entry<K, V> find(Object key) {
+        Entry<K, V> entry = findIn(hashTable, capacity, key);
+        if (entry == null && oldTable != null) {
+            entry = findIn(oldTable, oldCapacity, key);
         }
-        return x;
+        return entry;
     }
 
     @Override
@@ -86,104 +123,190 @@ public class DictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionar
 
     @Override
     public boolean containsKey(@NotNull Object key) {
-        int ind = getBucket(key.hashCode());
-        for (Entry<K, V> entry : hashTable.get(ind)) {
-            if (key.equals(entry.getKey())) {
-                return true;
-            }
-        }
-        return false;
+        return find(key) != null;
     }
 
     @Override
     public @Nullable V get(@NotNull Object key) {
-        int ind = getBucket(key.hashCode());
-        for (Entry<K, V> entry : hashTable.get(ind)) {
-            if (key.equals(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        Entry<K, V> entry = find(key);
+        return entry == null ? null : entry.getValue();
     }
 
+    /**
+     * Переходит на таблицу из capacity корзин. Пары переносятся сразу или, если словарь постепенный,
+     * по migrationStep корзин за операцию. Шаг берётся так, чтобы перенос закончился не позже операции,
+     * которая снова поменяет размер таблицы, сколько бы ни было между порогами policy.
+     * Незаконченный перенос завершается сразу, только если рехеширование пришло раньше: из compact()
+     * или после удалений итератором, которые ничего не переносят
+     */
     private void reHash(int capacity) throws IllegalArgumentException {
-        if (capacity < MIN_CAPACITY) {
-            throw new IllegalArgumentException("Capacity should be >= MIN_CAPACITY");
+        if (capacity < POLICY.getMinCapacity()) {
+            throw new IllegalArgumentException("Capacity should be >= min capacity of the policy");
         }
+        rehashCount++;
+        migrate(Integer.MAX_VALUE);
+        oldTable = hashTable;
+        oldCapacity = this.capacity;
+        migrateIndex = 0;
+        hashTable = createTable(capacity);
         this.capacity = capacity;
-        hashPrimeCapacity = getNearestLowerPrime(capacity);
-        List<LinkedList<Entry<K, V>>> newHashTable = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            newHashTable.add(new LinkedList<>());
+        if (!IS_INCREMENTAL) {
+            migrate(Integer.MAX_VALUE);
+            return;
         }
+        // размер меняется не больше чем на 1 за операцию, так что до следующего рехеширования хотя бы distance операций
+        int distance = POLICY.resizeDistance(size, capacity);
+        migrationStep = Math.max(MIN_MIGRATION_STEP, (oldCapacity - 1) / distance + 1);
+    }
+
+    /**
+     * Сколько ещё операций нужно, чтобы закончить постепенное рехеширование, 0 -- если оно не идёт
+     */
+    int pendingMigration() {
+        return oldTable == null ? 0 : (oldCapacity - migrateIndex - 1) / migrationStep + 1;
+    }
 
-        for (var bucket : hashTable) {
+    /**
+     * Переносит в новую таблицу до bucketCount корзин старой, пары переносятся без копирования
+     */
+    private void migrate(int bucketCount) {
+        if (oldTable == null) {
+            return;
+        }
+        for (int moved = 0; moved < bucketCount && migrateIndex < oldCapacity; moved++) {
+            LinkedList<Entry<K, V>> bucket = oldTable.get(migrateIndex);
+            oldTable.set(migrateIndex++, null);
+            if (bucket == null) {
+                continue;
+            }
             for (Entry<K, V> entry : bucket) {
-                K key = entry.getKey();
-                V value = entry.getValue();
-                if (value == null) {
-                    continue;
-                }
-                int ind = getBucket(key.hashCode());
-                newHashTable.get(ind).add(new AbstractMap.SimpleEntry<>(key, value));
+                bucketFor(entry.getKey()).add(entry);
             }
         }
+        if (migrateIndex == oldCapacity) {
+            oldTable = null;
+        }
+    }
 
-        hashTable = newHashTable;
+    /**
+     * Корзина новой таблицы для ключа, создаётся, если её ещё нет
+     */
+    private LinkedList<Entry<K, V>> bucketFor(Object key) {
+        int ind = getBucket(key.hashCode(), capacity);
+        LinkedList<Entry<K, V>> bucket = hashTable.get(ind);
+        if (bucket == null) {
+            bucket = new LinkedList<>();
+            hashTable.set(ind, bucket);
+        }
+        return bucket;
     }
 
-    private boolean isFilled() {
-        return size > capacity * LOAD_FACTOR;
+    /**
+     * Сколько раз таблица меняла размер с создания словаря, clear() не считается
+     */
+    public long getRehashCount() {
+        return rehashCount;
     }
 
     @Override
     public @Nullable V put(@NotNull K key, V value) {
-        int ind = getBucket(key.hashCode());
-        for (Entry<K, V> entry : hashTable.get(ind)) {
-            if (key.equals(entry.getKey())) {
-                V lastValue = entry.getValue();
-                entry.setValue(value);
-                return lastValue;
-            }
+        migrate(migrationStep);
+        Entry<K, V> entry = find(key);
+        if (entry != null) {
+            V lastValue = entry.getValue();
+            entry.setValue(value);
+            return lastValue;
         }
         size++;
-        hashTable.get(ind).add(new AbstractMap.SimpleEntry<>(key, value));
-        if (isFilled()) {
+        bucketFor(key).add(new AbstractMap.SimpleEntry<>(key, value));
+        if (POLICY.isFilled(size, capacity)) {
             reHash(capacity * REHASH_SIZE);
         }
         return null;
     }
 
-    private boolean isFree() {
-        return capacity > MIN_CAPACITY && size * REHASH_SIZE <= capacity * LOAD_FACTOR;
+    /**
+     * Уменьшает таблицу, если она занята меньше порога уменьшения; ничего не делает в режиме NEVER.
+     * В режиме ON_IDLE это единственный способ уменьшить таблицу, его стоит вызывать, пока словарь простаивает
+     */
+    public void compact() {
+        if (POLICY.getShrinkMode() == ResizePolicy.ShrinkMode.NEVER) {
+            return;
+        }
+        int shrunkCapacity = POLICY.shrunkCapacity(size, capacity);
+        if (shrunkCapacity < capacity) {
+            reHash(shrunkCapacity);
+        }
     }
 
-    @Override
-    public @Nullable V remove(@NotNull Object key) {
-        int ind = getBucket(key.hashCode());
-        for (Entry<K, V> entry : hashTable.get(ind)) {
+    private Entry<K, V> removeFrom(List<LinkedList<Entry<K, V>>> table, int capacity, Object key) {
+        LinkedList<Entry<K, V>> bucket = table.get(getBucket(key.hashCode(), capacity));
+        if (bucket == null) {
+            return null;
+        }
+        Iterator<Entry<K, V>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Entry<K, V> entry = iterator.next();
             if (key.equals(entry.getKey())) {
-                size--;
-                V lastValue = entry.getValue();
-                hashTable.get(ind).remove(entry);
-                if (isFree()) {
-                    reHash(capacity / REHASH_SIZE);
-                }
-                return lastValue;
+                iterator.remove();
+                return entry;
             }
         }
         return null;
     }
 
+    @Override
+    public @Nullable V remove(@NotNull Object key) {
+        migrate(migrationStep);
+        Entry<K, V> entry = removeFrom(hashTable, capacity, key);
+        if (entry == null && oldTable != null) {
+            entry = removeFrom(oldTable, oldCapacity, key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        size--;
+        if (POLICY.getShrinkMode() == ResizePolicy.ShrinkMode.ON_REMOVE) {
+            compact();
+        }
+        return entry.getValue();
+    }
+
     @Override
     public void clear() {
         size = 0;
-        capacity = MIN_CAPACITY;
-        hashPrimeCapacity = 3;
-        if (hashTable != null) hashTable.clear();
-        hashTable = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            hashTable.add(new LinkedList<>());
+        capacity = POLICY.getMinCapacity();
+        hashTable = createTable(capacity);
+        oldTable = null;
+    }
+
+    /**
+     * Непустые корзины старой таблицы, если идёт рехеширование, а затем новой
+     */
+    private class BucketIterator implements Iterator<LinkedList<Entry<K, V>>> {
+        private List<LinkedList<Entry<K, V>>> table = oldTable != null ? oldTable : hashTable;
+        private int index = oldTable != null ? migrateIndex : 0;
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                while (index < table.size() && (table.get(index) == null || table.get(index).isEmpty())) {
+                    index++;
+                }
+                if (index < table.size() || table == hashTable) {
+                    return index < table.size();
+                }
+                table = hashTable;
+                index = 0;
+            }
+        }
+
+        @Override
+        public LinkedList<Entry<K, V>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return table.get(index++);
         }
     }
 
@@ -248,7 +371,7 @@ public class DictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionar
 
         @Override
         public @NotNull Iterator<K> iterator() {
-            return new MyIterator<K>(IteratorType.KEY, hashTable.iterator());
+            return new MyIterator<K>(IteratorType.KEY, new BucketIterator());
         }
 
         @Override
@@ -266,7 +389,7 @@ public class DictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionar
 
         @Override
         public @NotNull Iterator<V> iterator() {
-            return new MyIterator<>(IteratorType.VALUE, hashTable.iterator());
+            return new MyIterator<>(IteratorType.VALUE, new BucketIterator());
         }
 
         @Override
@@ -284,7 +407,7 @@ public class DictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionar
 
         @Override
         public @NotNull Iterator<Entry<K, V>> iterator() {
-            return new MyIterator<>(IteratorType.ENTRY, hashTable.iterator());
+            return new MyIterator<>(IteratorType.ENTRY, new BucketIterator());
         }
 
         @Override
@@ -0,0 +1,357 @@
+package ru.hse.java.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Хеш-таблица с открытой адресацией: ключи и значения лежат в двух параллельных массивах,
+ * коллизии разрешаются линейным пробированием.
+ * Удаление сдвигает назад следующие элементы кластера вместо пометки удалённых ячеек,
+ * поэтому поиск никогда не проходит по "надгробиям"
+ */
+public class OpenAddressingDictionaryImpl<K, V> extends AbstractMap<K, V> implements Dictionary<K, V> {
+    // keys[i] == null -- ячейка свободна, размер массивов -- степень двойки
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+
+    private int size;
+
+    private final double LOAD_FACTOR;
+    private static final int REHASH_SIZE = 2;
+    private static final int MIN_CAPACITY = 4;
+
+    public OpenAddressingDictionaryImpl() {
+        this(MIN_CAPACITY, 0.75f);
+    }
+
+    public OpenAddressingDictionaryImpl(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    /**
+     * @param loadFactor доля занятых ячеек, при превышении которой таблица увеличивается, строго от 0 до 1
+     */
+    public OpenAddressingDictionaryImpl(int initialCapacity, float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor should be in (0, 1)");
+        }
+        LOAD_FACTOR = loadFactor;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    private int tableSizeFor(int capacity) {
+        int tableSize = MIN_CAPACITY;
+        while (tableSize < capacity && tableSize < (1 << 30)) {
+            tableSize *= REHASH_SIZE;
+        }
+        return tableSize;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Перемешивает старшие биты хеша с младшими: номер ячейки берётся по маске из младших бит
+     */
+    private int getSlot(Object key) {
+        int hashCode = key.hashCode();
+        return (hashCode ^ (hashCode >>> 16)) & mask;
+    }
+
+    /**
+     * Ячейка с ключом либо -1, если ключа нет
+     */
+    private int find(Object key) {
+        for (int slot = getSlot(key); keys[slot] != null; slot = (slot + 1) & mask) {
+            if (key.equals(keys[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return find(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable V get(@NotNull Object key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    private void reHash(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = getSlot(oldKeys[i]);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private boolean isFilled() {
+        return size > keys.length * LOAD_FACTOR;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable V put(@NotNull K key, V value) {
+        int slot = getSlot(key);
+        while (keys[slot] != null) {
+            if (key.equals(keys[slot])) {
+                V lastValue = (V) values[slot];
+                values[slot] = value;
+                return lastValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (isFilled()) {
+            reHash(keys.length * REHASH_SIZE);
+        }
+        return null;
+    }
+
+    /**
+     * Таблица уменьшается, только когда занята в четыре раза меньше допустимого,
+     * чтобы чередование put и remove на границе не вызывало рехеширование каждый раз
+     */
+    private boolean isFree() {
+        return keys.length > MIN_CAPACITY && size * REHASH_SIZE * REHASH_SIZE <= keys.length * LOAD_FACTOR;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable V remove(@NotNull Object key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V lastValue = (V) values[slot];
+        removeAt(slot, null);
+        if (isFree()) {
+            reHash(keys.length / REHASH_SIZE);
+        }
+        return lastValue;
+    }
+
+    /**
+     * Освобождает ячейку и сдвигает на её место элементы кластера, которые стоят не в своей начальной ячейке.
+     * Если удаление идёт из итератора, он узнаёт об элементах, перенесённых через конец массива в уже пройденные ячейки
+     */
+    private void removeAt(int slot, @Nullable TableIterator<?> iterator) {
+        size--;
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = getSlot(keys[next]);
+            // элемент можно сдвинуть, если его начальная ячейка не лежит между free и next
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                if (iterator != null) {
+                    iterator.moved(next, free);
+                }
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = null;
+        values[free] = null;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Обходит ячейки от последней к первой. Сдвиг при удалении переносит элементы только назад,
+     * то есть в уже пройденные ячейки, кроме элементов, которые переносятся через конец массива:
+     * они запоминаются в wrapped и выдаются в конце
+     */
+    private abstract class TableIterator<I> implements Iterator<I> {
+        // ячейки [0, position) ещё не пройдены
+        private int position = keys.length;
+        private int last = -1;
+        private ArrayList<K> wrapped;
+        private int wrappedIndex;
+        private K lastWrapped;
+
+        protected abstract I get(int slot);
+
+        @SuppressWarnings("unchecked")
+        private void moved(int from, int to) {
+            if (from < position && to >= position) {
+                if (wrapped == null) {
+                    wrapped = new ArrayList<>();
+                }
+                wrapped.add((K) keys[from]);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position > 0 && keys[position - 1] == null) {
+                position--;
+            }
+            return position > 0 || wrapped != null && wrappedIndex < wrapped.size();
+        }
+
+        @Override
+        public I next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (position > 0) {
+                last = --position;
+                return get(last);
+            }
+            lastWrapped = wrapped.get(wrappedIndex++);
+            last = find(lastWrapped);
+            return get(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (lastWrapped != null) {
+                // все ячейки пройдены, сдвиги больше ничего не переносят в пройденную часть
+                removeAt(find(lastWrapped), null);
+                lastWrapped = null;
+            } else {
+                removeAt(last, this);
+            }
+            last = -1;
+        }
+    }
+
+    private class KeyIterator extends TableIterator<K> {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected K get(int slot) {
+            return (K) keys[slot];
+        }
+    }
+
+    private class ValueIterator extends TableIterator<V> {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected V get(int slot) {
+            return (V) values[slot];
+        }
+    }
+
+    private class EntryIterator extends TableIterator<Entry<K, V>> {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Entry<K, V> get(int slot) {
+            return new TableEntry((K) keys[slot], (V) values[slot]);
+        }
+    }
+
+    /**
+     * Пара, setValue() которой меняет значение в словаре
+     */
+    private class TableEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private TableEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public @NotNull Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key != null && containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    @Override
+    public @NotNull Set<K> keySet() {
+        return new KeySet();
+    }
+
+    private class ValuesCollection extends AbstractCollection<V> {
+
+        @Override
+        public @NotNull Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    @Override
+    public @NotNull Collection<V> values() {
+        return new ValuesCollection();
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public @NotNull Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+}
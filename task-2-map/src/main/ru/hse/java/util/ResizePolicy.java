@@ -0,0 +1,114 @@
+package ru.hse.java.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Когда хеш-таблица увеличивается и уменьшается.
+ * Таблица увеличивается вдвое, когда заполненность превышает growLoadFactor,
+ * и уменьшается, когда заполненность опускается ниже shrinkLoadFactor.
+ * Между порогами должен быть зазор больше чем вдвое: после увеличения заполненность около growLoadFactor / 2,
+ * и одно удаление не должно сразу вызывать уменьшение, а после уменьшения одна вставка -- увеличение
+ */
+public final class ResizePolicy {
+
+    public enum ShrinkMode {
+        /**
+         * Таблица уменьшается в remove
+         */
+        ON_REMOVE,
+        /**
+         * Таблица уменьшается только в compact(), который стоит вызывать, пока словарь простаивает
+         */
+        ON_IDLE,
+        /**
+         * Таблица никогда не уменьшается, кроме clear()
+         */
+        NEVER
+    }
+
+    private final float growLoadFactor;
+    private final float shrinkLoadFactor;
+    private final int minCapacity;
+    private final ShrinkMode shrinkMode;
+
+    /**
+     * @param minCapacity таблица не бывает меньше, округляется вверх до степени двойки не меньше 2
+     * @throws IllegalArgumentException если shrinkLoadFactor не меньше growLoadFactor / 2
+     */
+    public ResizePolicy(float growLoadFactor, float shrinkLoadFactor, int minCapacity, @NotNull ShrinkMode shrinkMode) {
+        if (!(growLoadFactor > 0)) {
+            throw new IllegalArgumentException("Grow load factor should be positive");
+        }
+        if (!(shrinkLoadFactor >= 0 && shrinkLoadFactor < growLoadFactor / 2)) {
+            throw new IllegalArgumentException("Shrink load factor should be in [0, growLoadFactor / 2)");
+        }
+        if (minCapacity < 1 || minCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Min capacity should be in [1, 2^30]");
+        }
+        this.growLoadFactor = growLoadFactor;
+        this.shrinkLoadFactor = shrinkLoadFactor;
+        // одна корзина не поддерживается хешированием по старшим битам
+        int capacity = 2;
+        while (capacity < minCapacity) {
+            capacity *= 2;
+        }
+        this.minCapacity = capacity;
+        this.shrinkMode = shrinkMode;
+    }
+
+    /**
+     * Увеличение при заполненности выше loadFactor, уменьшение в remove при заполненности ниже loadFactor / 4
+     */
+    @NotNull
+    public static ResizePolicy withLoadFactor(float loadFactor) {
+        return new ResizePolicy(loadFactor, loadFactor / 4, 4, ShrinkMode.ON_REMOVE);
+    }
+
+    public float getGrowLoadFactor() {
+        return growLoadFactor;
+    }
+
+    public float getShrinkLoadFactor() {
+        return shrinkLoadFactor;
+    }
+
+    public int getMinCapacity() {
+        return minCapacity;
+    }
+
+    @NotNull
+    public ShrinkMode getShrinkMode() {
+        return shrinkMode;
+    }
+
+    boolean isFilled(int size, int capacity) {
+        return size > capacity * growLoadFactor;
+    }
+
+    /**
+     * Через сколько изменений размера на 1 таблица из capacity корзин с size парами поменяет размер в put или remove:
+     * расстояние до ближайшего порога, хотя бы 1. Уменьшение в compact() не учитывается
+     */
+    int resizeDistance(int size, int capacity) {
+        // наименьший размер, при котором isFilled
+        long distance = (long) (capacity * growLoadFactor) + 1 - size;
+        if (shrinkMode == ShrinkMode.ON_REMOVE && capacity > minCapacity) {
+            // наибольший размер, при котором shrunkCapacity уменьшает таблицу
+            long shrinkSize = (long) Math.ceil(capacity * shrinkLoadFactor) - 1;
+            if (shrinkSize >= 0) {
+                distance = Math.min(distance, size - shrinkSize);
+            }
+        }
+        return (int) Math.max(1, Math.min(distance, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Размер таблицы, до которого её стоит уменьшить, или capacity, если уменьшать не нужно
+     */
+    int shrunkCapacity(int size, int capacity) {
+        while (capacity > minCapacity && size < capacity * shrinkLoadFactor) {
+            capacity /= 2;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,240 @@
+package ru.hse.java.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentDictionaryImplTest extends DictionaryImplTest {
+    private final int cntThreads = 4;
+    private final int cntConcurrentStress = 20000;
+
+    @Override
+    protected <K, V> Dictionary<K, V> createDictionary() {
+        return new ConcurrentDictionaryImpl<>();
+    }
+
+    private void runInParallel(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIncorrectLoadFactor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentDictionaryImpl<>(4, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentDictionaryImpl<>(4, Float.NaN));
+    }
+
+    @Test
+    public void testConcurrentPutSameKeys() throws Exception {
+        // все потоки кладут одни и те же ключи, начиная с маленькой таблицы, -- она растёт во время вставок
+        int[] added = new int[cntThreads];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            int id = thread;
+            tasks.add(() -> {
+                for (int key = 0; key < cntConcurrentStress; key++) {
+                    if (hashMap.put(key, Integer.toString(key)) == null) {
+                        added[id]++;
+                    }
+                }
+            });
+        }
+        runInParallel(tasks);
+
+        int addedTotal = 0;
+        for (int cnt : added) {
+            addedTotal += cnt;
+        }
+        Assertions.assertEquals(cntConcurrentStress, addedTotal);
+        Assertions.assertEquals(cntConcurrentStress, hashMap.size());
+        for (int key = 0; key < cntConcurrentStress; key++) {
+            Assertions.assertEquals(Integer.toString(key), hashMap.get(key));
+        }
+        Assertions.assertEquals(cntConcurrentStress, hashMap.keySet().size());
+        Set<Integer> keys = new HashSet<>(hashMap.keySet());
+        Assertions.assertEquals(cntConcurrentStress, keys.size());
+    }
+
+    @Test
+    public void testConcurrentPutRemoveWithReaders() throws Exception {
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Runnable> tasks = new ArrayList<>();
+        List<Map<Integer, String>> expected = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            Map<Integer, String> kept = new HashMap<>();
+            expected.add(kept);
+            // ключи потока id дают остаток id по модулю cntThreads, значение знает свой ключ
+            int id = thread;
+            Random rand = new Random(thread);
+            tasks.add(() -> {
+                for (int cnt = 0; cnt < cntConcurrentStress; cnt++) {
+                    int key = rand.nextInt(cntConcurrentStress / 4) * cntThreads + id;
+                    if (rand.nextInt(3) == 0) {
+                        Assertions.assertEquals(kept.remove(key), hashMap.remove(key));
+                    } else {
+                        String value = key + ":" + cnt;
+                        Assertions.assertEquals(kept.put(key, value), hashMap.put(key, value));
+                    }
+                }
+            });
+        }
+
+        Runnable reader = () -> {
+            Random rand = new Random(cntThreads);
+            while (isWriting.get()) {
+                int key = rand.nextInt(cntConcurrentStress);
+                String value = hashMap.get(key);
+                if (value != null) {
+                    Assertions.assertTrue(value.startsWith(key + ":"));
+                }
+                Set<Integer> keys = new HashSet<>();
+                for (Map.Entry<Integer, String> entry : hashMap.entrySet()) {
+                    Assertions.assertTrue(keys.add(entry.getKey()));
+                    Assertions.assertTrue(entry.getValue().startsWith(entry.getKey() + ":"));
+                }
+            }
+        };
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstReader = readers.submit(reader);
+            Future<?> secondReader = readers.submit(reader);
+            runInParallel(tasks);
+            isWriting.set(false);
+            firstReader.get();
+            secondReader.get();
+        } finally {
+            readers.shutdownNow();
+        }
+
+        Map<Integer, String> correct = new HashMap<>();
+        for (Map<Integer, String> kept : expected) {
+            correct.putAll(kept);
+        }
+        Assertions.assertEquals(correct.size(), hashMap.size());
+        Assertions.assertEquals(correct, new HashMap<>(hashMap));
+    }
+
+    @Test
+    public void testConcurrentGrowWithIteratorRemove() throws Exception {
+        // пока писатели растят таблицу, итератор удаляет чётные ключи, которые писатели уже положили
+        List<Runnable> tasks = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            int id = thread;
+            tasks.add(() -> {
+                for (int key = id; key < cntConcurrentStress; key += cntThreads) {
+                    Assertions.assertNull(hashMap.put(key, Integer.toString(key)));
+                }
+            });
+        }
+        tasks.add(() -> {
+            for (int pass = 0; pass < 10; pass++) {
+                Iterator<Integer> iterator = hashMap.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next() % 2 == 0) {
+                        iterator.remove();
+                    }
+                }
+            }
+        });
+        runInParallel(tasks);
+
+        Iterator<Integer> iterator = hashMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assertions.assertEquals(cntConcurrentStress / 2, hashMap.size());
+        for (int key = 0; key < cntConcurrentStress; key++) {
+            Assertions.assertEquals(key % 2 == 0 ? null : Integer.toString(key), hashMap.get(key));
+        }
+    }
+
+    @Test
+    public void testAtomicOperations() {
+        Assertions.assertNull(hashMap.putIfAbsent(1, "one"));
+        Assertions.assertEquals("one", hashMap.putIfAbsent(1, "uno"));
+        Assertions.assertNull(hashMap.put(2, null));
+        Assertions.assertNull(hashMap.putIfAbsent(2, "two"));
+        Assertions.assertEquals("two", hashMap.get(2));
+
+        Assertions.assertFalse(hashMap.remove(1, "uno"));
+        Assertions.assertFalse(hashMap.remove(3, null));
+        Assertions.assertFalse(hashMap.replace(1, "uno", "eins"));
+        Assertions.assertTrue(hashMap.replace(1, "one", "eins"));
+        Assertions.assertEquals("eins", hashMap.replace(1, "one"));
+        Assertions.assertNull(hashMap.replace(3, "three"));
+        Assertions.assertFalse(hashMap.containsKey(3));
+        Assertions.assertTrue(hashMap.remove(1, "one"));
+        Assertions.assertFalse(hashMap.containsKey(1));
+
+        Assertions.assertEquals("3", hashMap.computeIfAbsent(3, Object::toString));
+        Assertions.assertEquals("3", hashMap.computeIfAbsent(3, key -> "three"));
+        Assertions.assertNull(hashMap.computeIfAbsent(4, key -> null));
+        Assertions.assertFalse(hashMap.containsKey(4));
+        Assertions.assertEquals("33", hashMap.computeIfPresent(3, (key, value) -> value + value));
+        Assertions.assertNull(hashMap.computeIfPresent(4, (key, value) -> value));
+        Assertions.assertNull(hashMap.computeIfPresent(3, (key, value) -> null));
+        Assertions.assertFalse(hashMap.containsKey(3));
+
+        Assertions.assertEquals("5", hashMap.compute(5, (key, value) -> value == null ? "5" : value + "5"));
+        Assertions.assertEquals("55", hashMap.compute(5, (key, value) -> value == null ? "5" : value + "5"));
+        Assertions.assertNull(hashMap.compute(5, (key, value) -> null));
+        Assertions.assertNull(hashMap.compute(6, (key, value) -> null));
+        Assertions.assertEquals("a", hashMap.merge(6, "a", String::concat));
+        Assertions.assertEquals("ab", hashMap.merge(6, "b", String::concat));
+        Assertions.assertNull(hashMap.merge(6, "c", (first, second) -> null));
+        Assertions.assertThrows(NullPointerException.class, () -> hashMap.merge(6, null, String::concat));
+
+        Assertions.assertEquals(Map.of(2, "two"), new HashMap<>(hashMap));
+        Assertions.assertEquals(1, hashMap.size());
+    }
+
+    @Test
+    public void testConcurrentCounters() throws Exception {
+        // счётчики через merge и compute не теряют прибавлений, а putIfAbsent отдаёт каждый ключ одному потоку
+        int cntKeys = 100;
+        ConcurrentDictionaryImpl<Integer, Integer> merged = new ConcurrentDictionaryImpl<>();
+        ConcurrentDictionaryImpl<Integer, Integer> computed = new ConcurrentDictionaryImpl<>();
+        ConcurrentDictionaryImpl<Integer, Integer> owners = new ConcurrentDictionaryImpl<>();
+        int[] owned = new int[cntThreads];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int thread = 0; thread < cntThreads; thread++) {
+            int id = thread;
+            tasks.add(() -> {
+                for (int cnt = 0; cnt < cntConcurrentStress; cnt++) {
+                    int key = cnt % cntKeys;
+                    merged.merge(key, 1, Integer::sum);
+                    computed.compute(key, (k, value) -> value == null ? 1 : value + 1);
+                    // ключи вставляются и удаляются по ходу, так что счётчик начинается заново
+                    if (owners.putIfAbsent(cntKeys + cnt, id) == null) {
+                        owned[id]++;
+                    }
+                }
+            });
+        }
+        runInParallel(tasks);
+
+        for (int key = 0; key < cntKeys; key++) {
+            Assertions.assertEquals(cntThreads * cntConcurrentStress / cntKeys, merged.get(key));
+            Assertions.assertEquals(cntThreads * cntConcurrentStress / cntKeys, computed.get(key));
+        }
+        Assertions.assertEquals(cntConcurrentStress, Arrays.stream(owned).sum());
+        Assertions.assertEquals(cntConcurrentStress, owners.size());
+    }
+}
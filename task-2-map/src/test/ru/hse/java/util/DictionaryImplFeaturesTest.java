@@ -0,0 +1,63 @@
+package ru.hse.java.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Политика роста и сжатия таблицы DictionaryImpl: её не разделяют другие реализации,
+ * поэтому эти тесты не лежат в наследуемом DictionaryImplTest
+ */
+public class DictionaryImplFeaturesTest {
+
+    @Test
+    public void testChurnDoesNotRehash() {
+        DictionaryImpl<Integer, String> churned = new DictionaryImpl<>();
+        // 97 > 128 * 0.75: таблица растёт до 256 корзин
+        for (int key = 0; key < 97; key++) {
+            churned.put(key, "value");
+        }
+        long rehashCount = churned.getRehashCount();
+        Assertions.assertEquals(6, rehashCount);
+        for (int cnt = 0; cnt < 10_000; cnt++) {
+            Assertions.assertEquals("value", churned.remove(96));
+            Assertions.assertNull(churned.put(96, "value"));
+        }
+        Assertions.assertEquals(rehashCount, churned.getRehashCount());
+    }
+
+    @Test
+    public void testShrinkModes() {
+        ResizePolicy.ShrinkMode[] modes = ResizePolicy.ShrinkMode.values();
+        // remove уменьшает таблицу вдвое по мере удаления, compact() -- сразу до нужного размера
+        long[] expectedShrinks = {6, 0, 0};
+        long[] expectedCompactShrinks = {0, 1, 0};
+        for (int i = 0; i < modes.length; i++) {
+            ResizePolicy policy = new ResizePolicy(0.75f, 0.25f, 4, modes[i]);
+            DictionaryImpl<Integer, String> shrinking = new DictionaryImpl<>(0, policy, false);
+            for (int key = 0; key < 97; key++) {
+                shrinking.put(key, "value");
+            }
+            long grows = shrinking.getRehashCount();
+            for (int key = 0; key < 97; key++) {
+                Assertions.assertEquals("value", shrinking.remove(key));
+            }
+            Assertions.assertEquals(grows + expectedShrinks[i], shrinking.getRehashCount());
+            shrinking.compact();
+            Assertions.assertEquals(grows + expectedShrinks[i] + expectedCompactShrinks[i], shrinking.getRehashCount());
+            Assertions.assertTrue(shrinking.isEmpty());
+            Assertions.assertNull(shrinking.put(1, "one"));
+            Assertions.assertEquals("one", shrinking.get(1));
+        }
+    }
+
+    @Test
+    public void testIncorrectPolicy() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ResizePolicy(0.75f, 0.5f, 4, ResizePolicy.ShrinkMode.ON_REMOVE));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ResizePolicy(0f, 0f, 4, ResizePolicy.ShrinkMode.ON_REMOVE));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ResizePolicy(0.75f, 0.1f, 0, ResizePolicy.ShrinkMode.NEVER));
+        Assertions.assertEquals(8, new ResizePolicy(0.75f, 0.1f, 5, ResizePolicy.ShrinkMode.NEVER).getMinCapacity());
+    }
+}
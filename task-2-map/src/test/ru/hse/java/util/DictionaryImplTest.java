@@ -8,11 +8,15 @@ import java.util.*;
 
 public class DictionaryImplTest {
 
-    private Dictionary<Integer, String> hashMap;
+    protected Dictionary<Integer, String> hashMap;
+
+    protected <K, V> Dictionary<K, V> createDictionary() {
+        return new DictionaryImpl<>();
+    }
 
     @BeforeEach
     void startTest() {
-        hashMap = new DictionaryImpl<>();
+        hashMap = createDictionary();
     }
 
     @Test
@@ -301,4 +305,73 @@ public class DictionaryImplTest {
             }
         }
     }
+
+    @Test
+    public void testNullValuesRehash() {
+        Assertions.assertNull(hashMap.put(-1, null));
+        for (int key = 0; key < 1000; key++) {
+            Assertions.assertNull(hashMap.put(key, key % 2 == 0 ? null : "odd"));
+        }
+        Assertions.assertTrue(hashMap.containsKey(-1));
+        Assertions.assertEquals(1001, hashMap.size());
+        for (int key = 0; key < 1000; key += 4) {
+            Assertions.assertTrue(hashMap.containsKey(key));
+            Assertions.assertNull(hashMap.remove(key));
+            Assertions.assertFalse(hashMap.containsKey(key));
+        }
+        Assertions.assertEquals(751, hashMap.size());
+        Assertions.assertEquals(751, hashMap.keySet().size());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (int key = 0; key < 20; key++) {
+            Assertions.assertNull(hashMap.put(key, Integer.toString(key)));
+        }
+
+        hashMap.keySet().removeIf(key -> key % 2 == 0);
+        Assertions.assertEquals(10, hashMap.size());
+        Assertions.assertFalse(hashMap.containsKey(4));
+        Assertions.assertTrue(hashMap.containsKey(5));
+
+        hashMap.values().removeIf(value -> value.endsWith("1"));
+        Assertions.assertEquals(8, hashMap.size());
+        Assertions.assertNull(hashMap.get(11));
+
+        Iterator<Map.Entry<Integer, String>> iterator = hashMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, String> entry = iterator.next();
+            if (entry.getKey() == 3) {
+                iterator.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+        Assertions.assertEquals(7, hashMap.size());
+        Assertions.assertFalse(hashMap.containsKey(3));
+        Assertions.assertEquals("odd", hashMap.get(19));
+    }
+
+    @Test
+    public void testStressIteratorRemove() {
+        for (int cnt = 0; cnt < cntStress / 10; cnt++) {
+            int key = rand.nextInt(cntStress);
+            Assertions.assertEquals(correctMap.put(key, "v" + key), hashMap.put(key, "v" + key));
+            if (cnt % 1000 == 999) {
+                int modulo = 2 + rand.nextInt(5);
+                Set<Integer> visited = new HashSet<>();
+                Iterator<Integer> iterator = hashMap.keySet().iterator();
+                while (iterator.hasNext()) {
+                    Integer next = iterator.next();
+                    Assertions.assertTrue(visited.add(next));
+                    if (next % modulo == 0) {
+                        iterator.remove();
+                    }
+                }
+                Assertions.assertEquals(correctMap.keySet(), visited);
+                correctMap.keySet().removeIf(element -> element % modulo == 0);
+                Assertions.assertEquals(correctMap, hashMap);
+            }
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package ru.hse.java.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class IncrementalDictionaryImplTest extends DictionaryImplTest {
+
+    @Override
+    protected <K, V> Dictionary<K, V> createDictionary() {
+        return new DictionaryImpl<>(4, 0.75f, true);
+    }
+
+    @Test
+    public void testDuringMigration() {
+        // 97 > 128 * 0.75 -- таблица растёт до 256 корзин и переносит 128 корзин за 32 операции
+        for (int key = 0; key < 97; key++) {
+            Assertions.assertNull(hashMap.put(key, Integer.toString(key)));
+        }
+        for (int step = 0; step < 10; step++) {
+            Assertions.assertEquals("5", hashMap.put(5, "5"));
+            Assertions.assertEquals(97, hashMap.size());
+            Assertions.assertEquals(97, hashMap.keySet().size());
+            Set<Integer> keys = new HashSet<>();
+            for (Integer key : hashMap.keySet()) {
+                Assertions.assertTrue(keys.add(key));
+            }
+            Assertions.assertEquals(97, keys.size());
+            for (int key = 0; key < 97; key++) {
+                Assertions.assertEquals(Integer.toString(key), hashMap.get(key));
+            }
+        }
+
+        Assertions.assertEquals("96", hashMap.remove(96));
+        Assertions.assertNull(hashMap.remove(96));
+        Assertions.assertFalse(hashMap.containsKey(96));
+        Iterator<Integer> iterator = hashMap.keySet().iterator();
+        Integer first = iterator.next();
+        iterator.remove();
+        Assertions.assertFalse(hashMap.containsKey(first));
+        Assertions.assertEquals(95, hashMap.size());
+    }
+
+    @Test
+    public void testMigrationFinishesBeforeResize() {
+        // при маленьком growLoadFactor до следующего увеличения мало вставок, при близких порогах -- мало удалений
+        List<ResizePolicy> policies = List.of(
+                ResizePolicy.withLoadFactor(0.1f),
+                new ResizePolicy(0.2f, 0.09f, 4, ResizePolicy.ShrinkMode.ON_REMOVE));
+        Random random = new Random(38371);
+        for (ResizePolicy policy : policies) {
+            DictionaryImpl<Integer, Integer> migrating = new DictionaryImpl<>(4, policy, true);
+            Map<Integer, Integer> correct = new HashMap<>();
+            for (int cnt = 0; cnt < 20_000; cnt++) {
+                // сначала растёт, потом сжимается, между этим чередует вставки и удаления
+                int phase = cnt / 5_000;
+                boolean isPut = phase == 0 || phase == 2 && cnt % 2 == 0 || phase == 3 && random.nextInt(4) == 0;
+                int key = random.nextInt(4_000);
+                int operationsLeft = migrating.pendingMigration();
+                long rehashCount = migrating.getRehashCount();
+                if (isPut) {
+                    Assertions.assertEquals(correct.put(key, cnt), migrating.put(key, cnt));
+                } else {
+                    Assertions.assertEquals(correct.remove(key), migrating.remove(key));
+                }
+                if (migrating.getRehashCount() != rehashCount) {
+                    // эта операция должна была сама закончить перенос до рехеширования
+                    Assertions.assertTrue(operationsLeft <= 1);
+                }
+                Assertions.assertEquals(correct.size(), migrating.size());
+            }
+            Assertions.assertEquals(correct, migrating);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.hse.java.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class OpenAddressingDictionaryImplTest extends DictionaryImplTest {
+
+    @Override
+    protected <K, V> Dictionary<K, V> createDictionary() {
+        return new OpenAddressingDictionaryImpl<>();
+    }
+
+    /**
+     * Ключ с заданным хешем, чтобы строить кластеры коллизий
+     */
+    private static class Collider {
+        private final int hash;
+        private final int id;
+
+        private Collider(int hash, int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Collider && ((Collider) other).id == id;
+        }
+    }
+
+    @Test
+    public void testCollisions() {
+        Dictionary<Collider, Integer> colliding = new OpenAddressingDictionaryImpl<>(64);
+        List<Collider> keys = new ArrayList<>();
+        for (int id = 0; id < 30; id++) {
+            // кластер ячеек 60, 61, ... переходит через конец массива
+            keys.add(new Collider(60 + id % 3, id));
+            Assertions.assertNull(colliding.put(keys.get(id), id));
+        }
+        Assertions.assertEquals(30, colliding.size());
+        for (int id = 0; id < 30; id += 3) {
+            Assertions.assertEquals(id, colliding.remove(keys.get(id)));
+        }
+        for (int id = 0; id < 30; id++) {
+            Assertions.assertEquals(id % 3 == 0 ? null : id, colliding.get(keys.get(id)));
+        }
+        Assertions.assertEquals(20, colliding.size());
+    }
+
+    @Test
+    public void testIteratorRemoveWrapped() {
+        Dictionary<Collider, Integer> colliding = new OpenAddressingDictionaryImpl<>(64);
+        List<Collider> keys = new ArrayList<>();
+        for (int id = 0; id < 12; id++) {
+            keys.add(new Collider(58 + id % 4, id));
+            colliding.put(keys.get(id), id);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        Iterator<Map.Entry<Collider, Integer>> iterator = colliding.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Collider, Integer> entry = iterator.next();
+            visited.add(entry.getValue());
+            iterator.remove();
+        }
+        Collections.sort(visited);
+        List<Integer> expected = new ArrayList<>();
+        for (int id = 0; id < 12; id++) {
+            expected.add(id);
+        }
+        Assertions.assertEquals(expected, visited);
+        Assertions.assertTrue(colliding.isEmpty());
+        Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+        Assertions.assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    public void testIncorrectLoadFactor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpenAddressingDictionaryImpl<>(16, 1f));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpenAddressingDictionaryImpl<>(16, 0f));
+    }
+}